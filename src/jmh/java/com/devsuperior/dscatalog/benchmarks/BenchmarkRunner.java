@@ -0,0 +1,28 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+ * Entry point for "mvn -Pjmh compile exec:exec". Accepts the usual JMH command line
+ * (e.g. -Djmh.args="-p catalogSize=10000 ProductServiceBenchmark") and always attaches
+ * the GC profiler so every run reports gc.alloc.rate.norm next to throughput and the
+ * SampleTime percentiles.
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions cli = new CommandLineOptions(args);
+		OptionsBuilder builder = new OptionsBuilder();
+		builder.parent(cli);
+		builder.addProfiler(GCProfiler.class);
+		if (!cli.getResult().hasValue()) {
+			builder.resultFormat(ResultFormatType.JSON);
+			builder.result("target/jmh-result.json");
+		}
+		new Runner(builder.build()).run();
+	}
+}
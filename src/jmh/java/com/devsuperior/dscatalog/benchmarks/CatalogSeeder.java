@@ -0,0 +1,76 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class CatalogSeeder {
+
+	private static final int BATCH_SIZE = 10_000;
+	private static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod "
+			+ "tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation "
+			+ "ullamco laboris nisi ut aliquip ex ea commodo consequat.";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public CatalogSeeder(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public void seed(int productCount, int categoryCount) {
+		Timestamp now = Timestamp.from(Instant.now());
+
+		long firstCategory = count("tb_category") + 1;
+		List<Object[]> categories = new ArrayList<>();
+		for (long id = firstCategory; id <= categoryCount; id++) {
+			categories.add(new Object[] { id, "Category " + id, now });
+		}
+		insert("INSERT INTO tb_category (id, name, created_at) VALUES (?, ?, ?)", categories);
+		restartSequence("tb_category_seq", Math.max(firstCategory, categoryCount + 1L));
+
+		long firstProduct = count("tb_product") + 1;
+		List<Object[]> products = new ArrayList<>(BATCH_SIZE);
+		List<Object[]> links = new ArrayList<>(BATCH_SIZE);
+		for (long id = firstProduct; id <= productCount; id++) {
+			products.add(new Object[] { id, "Product " + id, 10.0 + id % 5000, now, DESCRIPTION,
+					"https://img.example.com/" + id + ".jpg", now });
+			links.add(new Object[] { id, id % categoryCount + 1 });
+			if (products.size() == BATCH_SIZE) {
+				flushProducts(products, links);
+			}
+		}
+		flushProducts(products, links);
+		restartSequence("tb_product_seq", Math.max(firstProduct, productCount + 1L));
+
+		jdbcTemplate.update("DELETE FROM tb_category_product_count");
+		jdbcTemplate.update("INSERT INTO tb_category_product_count (category_id, product_count, updated_at) "
+				+ "SELECT c.id, COUNT(pc.product_id), CURRENT_TIMESTAMP FROM tb_category c "
+				+ "LEFT JOIN tb_product_category pc ON pc.category_id = c.id GROUP BY c.id");
+	}
+
+	private void flushProducts(List<Object[]> products, List<Object[]> links) {
+		insert("INSERT INTO tb_product (id, name, price, date, description, img_url, created_at) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?)", products);
+		insert("INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)", links);
+		products.clear();
+		links.clear();
+	}
+
+	private void insert(String sql, List<Object[]> rows) {
+		if (!rows.isEmpty()) {
+			jdbcTemplate.batchUpdate(sql, rows);
+		}
+	}
+
+	private long count(String table) {
+		Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+		return count == null ? 0L : count;
+	}
+
+	private void restartSequence(String sequence, long next) {
+		jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+	}
+}
@@ -0,0 +1,71 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.devsuperior.dscatalog.DscatalogApplication;
+import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.ProductService;
+
+@State(Scope.Benchmark)
+public class CatalogState {
+
+	public static final int PAGE_SIZE = 12;
+
+	@Param({ "10000", "100000", "1000000" })
+	public int catalogSize;
+
+	public int categoryCount;
+	public ConfigurableApplicationContext context;
+	public ProductService productService;
+	public CategoryService categoryService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(DscatalogApplication.class)
+				.web(WebApplicationType.NONE)
+				.logStartupInfo(false)
+				.run("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+						"--spring.jpa.show-sql=false",
+						"--spring.jpa.properties.hibernate.format_sql=false",
+						"--spring.h2.console.enabled=false",
+						"--logging.level.root=WARN");
+
+		categoryCount = Math.max(3, catalogSize / 1000);
+		new CatalogSeeder(context.getBean(JdbcTemplate.class)).seed(catalogSize, categoryCount);
+
+		productService = context.getBean(ProductService.class);
+		categoryService = context.getBean(CategoryService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	public long randomProductId() {
+		return ThreadLocalRandom.current().nextLong(1, catalogSize + 1L);
+	}
+
+	public long randomCategoryId() {
+		return ThreadLocalRandom.current().nextLong(1, categoryCount + 1L);
+	}
+
+	public int randomProductPage() {
+		return ThreadLocalRandom.current().nextInt(catalogSize / PAGE_SIZE);
+	}
+
+	public int randomCategoryPage() {
+		return ThreadLocalRandom.current().nextInt(Math.max(1, categoryCount / PAGE_SIZE));
+	}
+}
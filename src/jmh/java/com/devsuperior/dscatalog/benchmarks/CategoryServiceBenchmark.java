@@ -0,0 +1,64 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class CategoryServiceBenchmark {
+
+	@State(Scope.Thread)
+	public static class DeleteTarget {
+
+		long id;
+
+		@Setup(Level.Invocation)
+		public void insertVictim(CatalogState catalog) {
+			id = catalog.categoryService.insert(new CategoryDTO(null, "Benchmark category")).getId();
+		}
+	}
+
+	@Benchmark
+	public Page<CategoryDTO> findAllPaged(CatalogState catalog) {
+		return catalog.categoryService.findAllPaged(PageRequest.of(catalog.randomCategoryPage(), CatalogState.PAGE_SIZE));
+	}
+
+	@Benchmark
+	public CategoryDTO findById(CatalogState catalog) {
+		return catalog.categoryService.findById(catalog.randomCategoryId());
+	}
+
+	@Benchmark
+	public CategoryDTO insert(CatalogState catalog) {
+		return catalog.categoryService.insert(new CategoryDTO(null, "Benchmark category"));
+	}
+
+	@Benchmark
+	public CategoryDTO update(CatalogState catalog) {
+		long id = catalog.randomCategoryId();
+		return catalog.categoryService.update(id, new CategoryDTO(id, "Category " + id));
+	}
+
+	@Benchmark
+	public void delete(CatalogState catalog, DeleteTarget target) {
+		catalog.categoryService.delete(target.id);
+	}
+}
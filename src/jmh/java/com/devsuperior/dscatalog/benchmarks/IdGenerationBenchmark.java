@@ -0,0 +1,111 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.devsuperior.dscatalog.DscatalogApplication;
+import com.devsuperior.dscatalog.dto.BatchItemResultDTO;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.ProductService;
+
+/*
+ * Insert throughput of concurrent writers per id allocation size:
+ *
+ *   mvn -Pjmh compile exec:exec -Djmh.args="IdGenerationBenchmark"
+ *
+ * allocationSize=1 is one sequence round trip per row, the same cost profile as
+ * IDENTITY; larger sizes serve ids from memory and let Hibernate batch the inserts of a
+ * chunk. Pass "-p optimizer=hilo" to compare optimizers at the same size. The primary
+ * pool has cores * 2 + 1 connections; on small machines lower -t to that, or
+ * insertProductChunk measures connection timeouts instead of id allocation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class IdGenerationBenchmark {
+
+	private static final int CHUNK_SIZE = 100;
+
+	@State(Scope.Benchmark)
+	public static class Catalog {
+
+		@Param({ "1", "50", "500" })
+		public int allocationSize;
+
+		@Param({ "pooled-lo" })
+		public String optimizer;
+
+		ConfigurableApplicationContext context;
+		ProductService productService;
+		CategoryService categoryService;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			context = new SpringApplicationBuilder(DscatalogApplication.class)
+					.web(WebApplicationType.NONE)
+					.logStartupInfo(false)
+					.run("--spring.datasource.url=jdbc:h2:mem:idbench;DB_CLOSE_DELAY=-1",
+							"--spring.jpa.properties.dscatalog.id.allocation-size=" + allocationSize,
+							"--spring.jpa.properties.dscatalog.id.optimizer=" + (allocationSize == 1 ? "none" : optimizer),
+							"--dscatalog.batch.chunk-size=" + CHUNK_SIZE,
+							"--spring.jpa.show-sql=false",
+							"--spring.h2.console.enabled=false",
+							"--dscatalog.search.rebuild-on-startup=false",
+							"--logging.level.root=WARN");
+			new CatalogSeeder(context.getBean(JdbcTemplate.class)).seed(1000, 10);
+			productService = context.getBean(ProductService.class);
+			categoryService = context.getBean(CategoryService.class);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			context.close();
+		}
+	}
+
+	@Benchmark
+	public CategoryDTO insertCategory(Catalog catalog) {
+		return catalog.categoryService.insert(new CategoryDTO(null, "Benchmark category"));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CHUNK_SIZE)
+	public List<BatchItemResultDTO> insertProductChunk(Catalog catalog) {
+		List<ProductDTO> chunk = new ArrayList<>(CHUNK_SIZE);
+		for (int i = 0; i < CHUNK_SIZE; i++) {
+			ProductDTO dto = new ProductDTO(null, "Benchmark product", "Benchmark description", 99.9,
+					"https://img.example.com/bench.jpg", Instant.now());
+			dto.getCategories().add(new CategoryDTO(ThreadLocalRandom.current().nextLong(1, 11), null));
+			chunk.add(dto);
+		}
+		return catalog.productService.saveAll(chunk.iterator());
+	}
+}
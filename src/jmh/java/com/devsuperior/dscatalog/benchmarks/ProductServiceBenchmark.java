@@ -0,0 +1,72 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ProductServiceBenchmark {
+
+	@State(Scope.Thread)
+	public static class DeleteTarget {
+
+		long id;
+
+		@Setup(Level.Invocation)
+		public void insertVictim(CatalogState catalog) {
+			id = catalog.productService.insert(newProduct(catalog)).getId();
+		}
+	}
+
+	@Benchmark
+	public Page<ProductDTO> findAllPaged(CatalogState catalog) {
+		return catalog.productService.findAllPaged(PageRequest.of(catalog.randomProductPage(), CatalogState.PAGE_SIZE));
+	}
+
+	@Benchmark
+	public ProductDTO findById(CatalogState catalog) {
+		return catalog.productService.findById(catalog.randomProductId());
+	}
+
+	@Benchmark
+	public ProductDTO insert(CatalogState catalog) {
+		return catalog.productService.insert(newProduct(catalog));
+	}
+
+	@Benchmark
+	public ProductDTO update(CatalogState catalog) {
+		return catalog.productService.update(catalog.randomProductId(), newProduct(catalog));
+	}
+
+	@Benchmark
+	public void delete(CatalogState catalog, DeleteTarget target) {
+		catalog.productService.delete(target.id);
+	}
+
+	private static ProductDTO newProduct(CatalogState catalog) {
+		ProductDTO dto = new ProductDTO(null, "Benchmark product", "Benchmark description", 99.9,
+				"https://img.example.com/bench.jpg", Instant.now());
+		dto.getCategories().add(new CategoryDTO(catalog.randomCategoryId(), null));
+		return dto;
+	}
+}
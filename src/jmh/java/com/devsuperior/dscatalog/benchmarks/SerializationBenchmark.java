@@ -0,0 +1,117 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/*
+ * Cost of putting a product page on the wire as JSON, gzipped JSON and CBOR, and of
+ * parsing it back on the consumer side:
+ *
+ *   mvn -Pjmh compile exec:exec -Djmh.args="SerializationBenchmark"
+ *
+ * Payload sizes for each format are printed once per trial; the GC profiler's
+ * gc.alloc.rate.norm shows the allocation side of each encoder.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+	private static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod "
+			+ "tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation "
+			+ "ullamco laboris nisi ut aliquip ex ea commodo consequat. Duis aute irure dolor in reprehenderit in "
+			+ "voluptate velit esse cillum dolore eu fugiat nulla pariatur.";
+
+	@Param({ "12", "100" })
+	public int pageSize;
+
+	private ObjectMapper json;
+	private ObjectMapper cbor;
+	private Page<ProductDTO> page;
+	private byte[] jsonBytes;
+	private byte[] cborBytes;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		json = Jackson2ObjectMapperBuilder.json().build();
+		cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+		List<ProductDTO> content = new ArrayList<>(pageSize);
+		for (long id = 1; id <= pageSize; id++) {
+			ProductDTO dto = new ProductDTO(id, "Product " + id, DESCRIPTION, 10.0 + id,
+					"https://img.example.com/" + id + ".jpg", Instant.now());
+			dto.getCategories().add(new CategoryDTO(id % 3 + 1, "Category " + (id % 3 + 1)));
+			content.add(dto);
+		}
+		page = new PageImpl<>(content, PageRequest.of(0, pageSize), 100_000);
+
+		jsonBytes = json.writeValueAsBytes(page);
+		cborBytes = cbor.writeValueAsBytes(page);
+		System.out.printf("%npageSize=%d json=%d B, json+gzip=%d B, cbor=%d B, cbor+gzip=%d B%n", pageSize,
+				jsonBytes.length, gzip(jsonBytes).length, cborBytes.length, gzip(cborBytes).length);
+	}
+
+	@Benchmark
+	public byte[] writeJson() throws IOException {
+		return json.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public byte[] writeJsonGzip() throws IOException {
+		return gzip(json.writeValueAsBytes(page));
+	}
+
+	@Benchmark
+	public byte[] writeCbor() throws IOException {
+		return cbor.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public JsonNode readJson() throws IOException {
+		return json.readTree(jsonBytes);
+	}
+
+	@Benchmark
+	public JsonNode readCbor() throws IOException {
+		return cbor.readTree(cborBytes);
+	}
+
+	private static byte[] gzip(byte[] body) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,108 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.devsuperior.dscatalog.DscatalogApplication;
+
+/*
+ * End-to-end HTTP load against an embedded server, run once per execution mode:
+ *
+ *   mvn -Pjmh compile exec:exec -Djmh.args="WebThroughputBenchmark -t 400"
+ *
+ * This is only the harness; no platform vs virtual thread results have been recorded for
+ * this application yet, so measure on the target hardware (Java 21, a real database)
+ * before turning dscatalog.virtual-threads.enabled on. Each JMH thread is one client
+ * issuing blocking requests; -t above server.tomcat.threads.max (200) is where the two
+ * modes are expected to differ. An embedded in-memory H2 answers in microseconds and
+ * understates the time a request spends blocked on JDBC.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 20)
+@Threads(400)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class WebThroughputBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Server {
+
+		@Param({ "false", "true" })
+		public String virtualThreads;
+
+		@Param({ "50" })
+		public int dbPoolSize;
+
+		@Param({ "10000" })
+		public int catalogSize;
+
+		ConfigurableApplicationContext context;
+		HttpClient client;
+		String baseUrl;
+
+		@Setup(Level.Trial)
+		public void start() {
+			context = new SpringApplicationBuilder(DscatalogApplication.class)
+					.logStartupInfo(false)
+					.run("--server.port=0",
+							"--dscatalog.virtual-threads.enabled=" + virtualThreads,
+							"--spring.datasource.hikari.maximum-pool-size=" + dbPoolSize,
+							"--spring.datasource.url=jdbc:h2:mem:webbench;DB_CLOSE_DELAY=-1",
+							"--spring.jpa.show-sql=false",
+							"--spring.jpa.properties.hibernate.format_sql=false",
+							"--spring.h2.console.enabled=false",
+							"--dscatalog.search.rebuild-on-startup=false",
+							"--logging.level.root=WARN");
+			new CatalogSeeder(context.getBean(JdbcTemplate.class)).seed(catalogSize, Math.max(3, catalogSize / 1000));
+
+			client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+			baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+		}
+
+		@TearDown(Level.Trial)
+		public void stop() {
+			context.close();
+		}
+
+		int get(String path) throws IOException, InterruptedException {
+			HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+			return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+		}
+	}
+
+	@Benchmark
+	public int findById(Server server) throws IOException, InterruptedException {
+		long id = ThreadLocalRandom.current().nextLong(1, server.catalogSize + 1L);
+		return server.get("/products/" + id);
+	}
+
+	@Benchmark
+	public int findAllPaged(Server server) throws IOException, InterruptedException {
+		int page = ThreadLocalRandom.current().nextInt(server.catalogSize / CatalogState.PAGE_SIZE);
+		return server.get("/products?page=" + page + "&size=" + CatalogState.PAGE_SIZE);
+	}
+}
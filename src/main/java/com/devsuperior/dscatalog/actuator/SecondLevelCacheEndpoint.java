@@ -0,0 +1,52 @@
+package com.devsuperior.dscatalog.actuator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Component
+@Endpoint(id = "l2cache")
+public class SecondLevelCacheEndpoint {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@ReadOperation
+	public Map<String, Object> regions() {
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		Statistics statistics = sessionFactory.getStatistics();
+
+		Map<String, Object> regions = new TreeMap<>();
+		for (String name : statistics.getSecondLevelCacheRegionNames()) {
+			regions.put(name, describe(statistics.getDomainDataRegionStatistics(name)));
+		}
+
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("enabled", sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+		body.put("statisticsEnabled", statistics.isStatisticsEnabled());
+		body.put("regions", regions);
+		return body;
+	}
+
+	private Map<String, Object> describe(CacheRegionStatistics region) {
+		long hits = region.getHitCount();
+		long misses = region.getMissCount();
+		Map<String, Object> values = new LinkedHashMap<>();
+		values.put("hits", hits);
+		values.put("misses", misses);
+		values.put("puts", region.getPutCount());
+		values.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+		values.put("elementsInMemory", region.getElementCountInMemory());
+		return values;
+	}
+}
@@ -0,0 +1,20 @@
+package com.devsuperior.dscatalog.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/*
+ * The caching advice runs outside the transactional one, so evictions happen only
+ * after the write transaction has committed. That narrows the window for a stale
+ * put-back but does not close it: a read that loaded the old row before the commit can
+ * still store it after the eviction. The expireAfterWrite in spring.cache.caffeine.spec
+ * bounds how long such an entry survives.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+	public static final String CATEGORIES = "categories";
+	public static final String CATEGORY_PAGES = "categoryPages";
+}
@@ -0,0 +1,108 @@
+package com.devsuperior.dscatalog.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/*
+ * Spring Boot backs off its DataSource auto-configuration as soon as an R2DBC
+ * ConnectionFactory exists, so the JDBC pools used by JPA are declared here explicitly.
+ * The primary pool is bound to the usual spring.datasource.* properties. Setting
+ * dscatalog.datasource.replica.jdbc-url adds a replica pool and makes the application
+ * DataSource route read-only transactions to it. Streamed reads (see StreamingReads) get
+ * a small pool of their own on the database reads go to, without leak detection.
+ */
+@Configuration
+public class DataSourceConfig {
+
+	@Bean
+	@Primary
+	@ConfigurationProperties("spring.datasource")
+	public DataSourceProperties dataSourceProperties() {
+		return new DataSourceProperties();
+	}
+
+	/*
+	 * Fixed-size pool of cores * 2 + 1 connections unless spring.datasource.hikari.* says
+	 * otherwise; properties are bound after this method returns and override these values.
+	 */
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		int poolSize = Runtime.getRuntime().availableProcessors() * 2 + 1;
+		dataSource.setMaximumPoolSize(poolSize);
+		dataSource.setMinimumIdle(poolSize);
+		return dataSource;
+	}
+
+	@Bean
+	@ConditionalOnProperty("dscatalog.datasource.replica.jdbc-url")
+	@ConfigurationProperties("dscatalog.datasource.replica")
+	public HikariDataSource replicaDataSource() {
+		HikariDataSource dataSource = new HikariDataSource();
+		int poolSize = Runtime.getRuntime().availableProcessors() * 2 + 1;
+		dataSource.setPoolName("dscatalog-replica");
+		dataSource.setMaximumPoolSize(poolSize);
+		dataSource.setMinimumIdle(poolSize);
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	@ConditionalOnProperty("dscatalog.datasource.replica.jdbc-url")
+	public ReplicaLagMonitor replicaLagMonitor(@Value("${dscatalog.datasource.replica.lag-query:SELECT 0}") String lagQuery,
+			@Value("${dscatalog.datasource.replica.max-staleness-ms:5000}") long maxStalenessMillis) {
+		return new ReplicaLagMonitor(replicaDataSource(), lagQuery, maxStalenessMillis);
+	}
+
+	/*
+	 * Connection settings are copied from the replica when there is one, else from the
+	 * primary; dscatalog.datasource.export.* overrides them and the pool size.
+	 */
+	@Bean
+	@ConfigurationProperties("dscatalog.datasource.export")
+	public HikariDataSource exportDataSource(DataSourceProperties properties,
+			@Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource) {
+		HikariDataSource dataSource = new HikariDataSource();
+		HikariDataSource replica = replicaDataSource.getIfAvailable();
+		if (replica != null) {
+			dataSource.setJdbcUrl(replica.getJdbcUrl());
+			dataSource.setUsername(replica.getUsername());
+			dataSource.setPassword(replica.getPassword());
+		}
+		else {
+			dataSource.setDriverClassName(properties.determineDriverClassName());
+			dataSource.setJdbcUrl(properties.determineUrl());
+			dataSource.setUsername(properties.determineUsername());
+			dataSource.setPassword(properties.determinePassword());
+		}
+		dataSource.setPoolName("dscatalog-export");
+		dataSource.setMaximumPoolSize(4);
+		dataSource.setMinimumIdle(0);
+		dataSource.setLeakDetectionThreshold(0);
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource exportDataSource,
+			@Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+			ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+		ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+		return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource,
+				replicaDataSource.getIfAvailable(), exportDataSource, monitor == null ? () -> false : monitor::isReplicaUsable));
+	}
+}
@@ -0,0 +1,41 @@
+package com.devsuperior.dscatalog.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.devsuperior.dscatalog.metrics.DataSourceProxyPostProcessor;
+import com.devsuperior.dscatalog.metrics.QueryCountFilter;
+import com.devsuperior.dscatalog.metrics.SlowQueryLogListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+
+@Configuration
+public class ObservabilityConfig {
+
+	// makes @Observed on the services produce timers (and spans when a tracer is present)
+	@Bean
+	public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+		return new ObservedAspect(observationRegistry);
+	}
+
+	@Bean
+	public QueryCountFilter queryCountFilter(MeterRegistry registry) {
+		return new QueryCountFilter(registry);
+	}
+
+	@Bean
+	public static DataSourceProxyPostProcessor dataSourceProxyPostProcessor(ObjectProvider<MeterRegistry> registry,
+			Environment environment) {
+		SlowQueryLogListener slowQueryLog = null;
+		if (environment.getProperty("dscatalog.slow-query.enabled", Boolean.class, true)) {
+			slowQueryLog = new SlowQueryLogListener(
+					environment.getProperty("dscatalog.slow-query.threshold-ms", Long.class, 200L),
+					environment.getProperty("dscatalog.slow-query.sample-rate", Double.class, 1.0));
+		}
+		return new DataSourceProxyPostProcessor(registry, slowQueryLog);
+	}
+}
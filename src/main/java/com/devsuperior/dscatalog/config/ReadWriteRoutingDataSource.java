@@ -0,0 +1,55 @@
+package com.devsuperior.dscatalog.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Sends connections requested inside StreamingReads.run to the export pool, those of
+ * read-only transactions to the replica (when there is one) while replicaUsable says it
+ * is fresh enough, and everything else to the primary. Has to sit behind a
+ * LazyConnectionDataSourceProxy: the transaction manager opens its connection before it
+ * publishes the read-only flag, the proxy defers the real lookup to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	enum Route {
+		PRIMARY, REPLICA, EXPORT
+	}
+
+	private final boolean hasReplica;
+	private final BooleanSupplier replicaUsable;
+
+	// replica may be null, reads then stay on the primary
+	public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, DataSource export,
+			BooleanSupplier replicaUsable) {
+		this.hasReplica = replica != null;
+		this.replicaUsable = replicaUsable;
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(Route.PRIMARY, primary);
+		targets.put(Route.EXPORT, export);
+		if (hasReplica) {
+			targets.put(Route.REPLICA, replica);
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (StreamingReads.isActive()) {
+			return Route.EXPORT;
+		}
+		if (hasReplica && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+				&& replicaUsable.getAsBoolean()) {
+			return Route.REPLICA;
+		}
+		return Route.PRIMARY;
+	}
+}
@@ -0,0 +1,61 @@
+package com.devsuperior.dscatalog.config;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/*
+ * Polls the replica with dscatalog.datasource.replica.lag-query, which must return the
+ * replication lag in milliseconds (e.g. on PostgreSQL
+ * "SELECT EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000").
+ * Reads fall back to the primary while the lag is above max-staleness-ms or the replica
+ * cannot be queried.
+ */
+public class ReplicaLagMonitor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+	private final JdbcTemplate replica;
+	private final String lagQuery;
+	private final long maxStalenessMillis;
+
+	private volatile boolean usable = true;
+
+	public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxStalenessMillis) {
+		this.replica = new JdbcTemplate(replica);
+		this.lagQuery = lagQuery;
+		this.maxStalenessMillis = maxStalenessMillis;
+	}
+
+	public boolean isReplicaUsable() {
+		return usable;
+	}
+
+	@Scheduled(fixedDelayString = "${dscatalog.datasource.replica.lag-check-interval-ms:1000}")
+	public void check() {
+		boolean nowUsable;
+		String reason;
+		try {
+			Number lag = replica.queryForObject(lagQuery, Number.class);
+			nowUsable = lag != null && lag.longValue() <= maxStalenessMillis;
+			reason = "lag=" + lag + "ms";
+		}
+		catch (DataAccessException e) {
+			nowUsable = false;
+			reason = e.getMessage();
+		}
+		if (nowUsable != usable) {
+			if (nowUsable) {
+				LOG.info("Replica back within {}ms staleness, routing reads to it ({})", maxStalenessMillis, reason);
+			}
+			else {
+				LOG.warn("Replica unusable, routing reads to the primary ({})", reason);
+			}
+		}
+		usable = nowUsable;
+	}
+}
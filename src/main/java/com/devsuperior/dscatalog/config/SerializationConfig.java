@@ -0,0 +1,22 @@
+package com.devsuperior.dscatalog.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/*
+ * Serves application/cbor to clients that ask for it with Accept, with the same DTO shape
+ * as the JSON responses. The mapper comes from Boot's builder so spring.jackson.*
+ * settings apply to both formats; JSON stays the default for everyone else.
+ */
+@Configuration
+public class SerializationConfig {
+
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+	}
+}
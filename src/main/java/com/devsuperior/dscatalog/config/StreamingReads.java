@@ -0,0 +1,33 @@
+package com.devsuperior.dscatalog.config;
+
+/*
+ * Marks reads that hold one connection for as long as a client keeps consuming rows (the
+ * NDJSON export, the search index rebuild). ReadWriteRoutingDataSource serves connections
+ * requested inside run() from the export pool, whose leak detection is off, so the
+ * primary pool can keep a threshold of a few seconds.
+ */
+public final class StreamingReads {
+
+	private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+	private StreamingReads() {
+	}
+
+	public static void run(Runnable read) {
+		if (isActive()) {
+			read.run();
+			return;
+		}
+		ACTIVE.set(Boolean.TRUE);
+		try {
+			read.run();
+		}
+		finally {
+			ACTIVE.remove();
+		}
+	}
+
+	static boolean isActive() {
+		return ACTIVE.get() != null;
+	}
+}
@@ -0,0 +1,33 @@
+package com.devsuperior.dscatalog.config;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/*
+ * Opt-in (dscatalog.virtual-threads.enabled=true): Tomcat runs every request, and with it
+ * the @Transactional service calls, on its own virtual thread, and async MVC work
+ * (StreamingResponseBody) uses virtual threads as well. A blocked JDBC call then parks
+ * the virtual thread instead of holding one of the server.tomcat.threads.max platform
+ * threads; the Hikari pool size becomes the only concurrency limit on database work.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dscatalog.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+		return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+	}
+
+	@Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+	}
+}
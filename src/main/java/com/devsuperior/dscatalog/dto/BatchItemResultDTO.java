@@ -0,0 +1,64 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+public class BatchItemResultDTO implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	public enum Status {
+		CREATED, UPDATED, FAILED
+	}
+
+	private Integer index;
+	private Long id;
+	private Status status;
+	private String message;
+
+	public BatchItemResultDTO() {
+	}
+
+	public BatchItemResultDTO(Integer index, Long id, Status status, String message) {
+		this.index = index;
+		this.id = id;
+		this.status = status;
+		this.message = message;
+	}
+
+	public static BatchItemResultDTO failed(Integer index, Long id, String message) {
+		return new BatchItemResultDTO(index, id, Status.FAILED, message);
+	}
+
+	public Integer getIndex() {
+		return index;
+	}
+
+	public void setIndex(Integer index) {
+		this.index = index;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+}
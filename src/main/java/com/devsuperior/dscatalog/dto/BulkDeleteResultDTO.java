@@ -0,0 +1,36 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+public class BulkDeleteResultDTO implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private Integer requested;
+	private Long deleted;
+
+	public BulkDeleteResultDTO() {
+	}
+
+	public BulkDeleteResultDTO(Integer requested, Long deleted) {
+		this.requested = requested;
+		this.deleted = deleted;
+	}
+
+	public Integer getRequested() {
+		return requested;
+	}
+
+	public void setRequested(Integer requested) {
+		this.requested = requested;
+	}
+
+	public Long getDeleted() {
+		return deleted;
+	}
+
+	public void setDeleted(Long deleted) {
+		this.deleted = deleted;
+	}
+}
@@ -11,6 +11,8 @@ public class CategoryDTO implements Serializable {
 
 	private Long id;
 	private String name;
+	private Integer version;
+	private Long productCount;
 	
 	public CategoryDTO() {
 	}
@@ -23,6 +25,12 @@ public class CategoryDTO implements Serializable {
 	public CategoryDTO(Category entity) {
 		this.id = entity.getId();
 		this.name = entity.getName();
+		this.version = entity.getVersion();
+	}
+
+	public CategoryDTO(Category entity, Long productCount) {
+		this(entity);
+		this.productCount = productCount;
 	}
 
 	public Long getId() {
@@ -40,4 +48,20 @@ public class CategoryDTO implements Serializable {
 	public void setName(String name) {
 		this.name = name;
 	}
+
+	public Integer getVersion() {
+		return version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
+	public Long getProductCount() {
+		return productCount;
+	}
+
+	public void setProductCount(Long productCount) {
+		this.productCount = productCount;
+	}
 }
@@ -0,0 +1,46 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+public class CategoryFacetDTO implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private Long categoryId;
+	private String name;
+	private Long count;
+
+	public CategoryFacetDTO() {
+	}
+
+	public CategoryFacetDTO(Long categoryId, String name, Long count) {
+		this.categoryId = categoryId;
+		this.name = name;
+		this.count = count;
+	}
+
+	public Long getCategoryId() {
+		return categoryId;
+	}
+
+	public void setCategoryId(Long categoryId) {
+		this.categoryId = categoryId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Long getCount() {
+		return count;
+	}
+
+	public void setCount(Long count) {
+		this.count = count;
+	}
+}
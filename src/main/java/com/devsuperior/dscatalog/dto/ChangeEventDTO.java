@@ -0,0 +1,79 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.devsuperior.dscatalog.entities.OutboxEvent;
+
+public class ChangeEventDTO implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private Long offset;
+	private String aggregateType;
+	private Long aggregateId;
+	private Integer aggregateVersion;
+	private boolean deleted;
+	private Instant occurredAt;
+
+	public ChangeEventDTO() {
+	}
+
+	public ChangeEventDTO(OutboxEvent entity) {
+		this.offset = entity.getId();
+		this.aggregateType = entity.getAggregateType();
+		this.aggregateId = entity.getAggregateId();
+		this.aggregateVersion = entity.getAggregateVersion();
+		this.deleted = entity.isDeleted();
+		this.occurredAt = entity.getCreatedAt();
+	}
+
+	public Long getOffset() {
+		return offset;
+	}
+
+	public void setOffset(Long offset) {
+		this.offset = offset;
+	}
+
+	public String getAggregateType() {
+		return aggregateType;
+	}
+
+	public void setAggregateType(String aggregateType) {
+		this.aggregateType = aggregateType;
+	}
+
+	public Long getAggregateId() {
+		return aggregateId;
+	}
+
+	public void setAggregateId(Long aggregateId) {
+		this.aggregateId = aggregateId;
+	}
+
+	public Integer getAggregateVersion() {
+		return aggregateVersion;
+	}
+
+	public void setAggregateVersion(Integer aggregateVersion) {
+		this.aggregateVersion = aggregateVersion;
+	}
+
+	public boolean isDeleted() {
+		return deleted;
+	}
+
+	public void setDeleted(boolean deleted) {
+		this.deleted = deleted;
+	}
+
+	public Instant getOccurredAt() {
+		return occurredAt;
+	}
+
+	public void setOccurredAt(Instant occurredAt) {
+		this.occurredAt = occurredAt;
+	}
+}
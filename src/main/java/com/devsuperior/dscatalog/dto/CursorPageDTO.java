@@ -0,0 +1,65 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPageDTO<T> implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private List<T> content = new ArrayList<>();
+	private Integer size;
+	private String nextCursor;
+
+	public CursorPageDTO() {
+	}
+
+	public CursorPageDTO(List<T> content, Integer size, String nextCursor) {
+		this.content = content;
+		this.size = size;
+		this.nextCursor = nextCursor;
+	}
+
+	/*
+	 * Expects the rows of a query limited to size + 1: the extra row only signals that
+	 * another page exists and is dropped, the cursor points at the last row returned.
+	 */
+	public static <T> CursorPageDTO<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+		if (rows.size() <= size) {
+			return new CursorPageDTO<>(rows, size, null);
+		}
+		List<T> content = new ArrayList<>(rows.subList(0, size));
+		return new CursorPageDTO<>(content, size, cursorOf.apply(content.get(size - 1)));
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public void setSize(Integer size) {
+		this.size = size;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	public boolean isLast() {
+		return nextCursor == null;
+	}
+}
@@ -0,0 +1,27 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serial;
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/*
+ * A regular page plus per-category counts over every product matching the non-category
+ * filters, so clients can render the category facet without extra requests.
+ */
+public class FacetedPageDTO<T> extends PageImpl<T> {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private final List<CategoryFacetDTO> facets;
+
+	public FacetedPageDTO(List<T> content, Pageable pageable, long total, List<CategoryFacetDTO> facets) {
+		super(content, pageable, total);
+		this.facets = facets;
+	}
+
+	public List<CategoryFacetDTO> getFacets() {
+		return facets;
+	}
+}
@@ -0,0 +1,112 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReportDTO implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	public static final int MAX_REPORTED_ERRORS = 1000;
+
+	private String jobId;
+	private Long resumedFrom;
+	private Long checkpoint;
+	private long rowsRead;
+	private long rowsImported;
+	private long rowsFailed;
+	private Long elapsedMillis;
+	private Double rowsPerSecond;
+	private boolean completed;
+	private String abortReason;
+
+	private List<BatchItemResultDTO> errors = new ArrayList<>();
+
+	public ImportReportDTO() {
+	}
+
+	public ImportReportDTO(String jobId, Long resumedFrom) {
+		this.jobId = jobId;
+		this.resumedFrom = resumedFrom;
+		this.checkpoint = resumedFrom;
+	}
+
+	public void rowRead() {
+		rowsRead++;
+	}
+
+	public void rowImported() {
+		rowsImported++;
+	}
+
+	public void rowFailed(long row, Long id, String message) {
+		rowsFailed++;
+		if (errors.size() < MAX_REPORTED_ERRORS) {
+			errors.add(BatchItemResultDTO.failed((int) row, id, message));
+		}
+	}
+
+	public void committedUpTo(long row) {
+		checkpoint = row;
+	}
+
+	public void complete() {
+		completed = true;
+	}
+
+	public void abort(String reason) {
+		completed = false;
+		abortReason = reason;
+	}
+
+	public void finish(long elapsedNanos) {
+		elapsedMillis = elapsedNanos / 1_000_000;
+		rowsPerSecond = elapsedNanos == 0 ? 0.0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+	}
+
+	public String getJobId() {
+		return jobId;
+	}
+
+	public Long getResumedFrom() {
+		return resumedFrom;
+	}
+
+	public Long getCheckpoint() {
+		return checkpoint;
+	}
+
+	public long getRowsRead() {
+		return rowsRead;
+	}
+
+	public long getRowsImported() {
+		return rowsImported;
+	}
+
+	public long getRowsFailed() {
+		return rowsFailed;
+	}
+
+	public Long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public Double getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+
+	public boolean isCompleted() {
+		return completed;
+	}
+
+	public String getAbortReason() {
+		return abortReason;
+	}
+
+	public List<BatchItemResultDTO> getErrors() {
+		return errors;
+	}
+}
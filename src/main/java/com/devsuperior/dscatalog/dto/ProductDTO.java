@@ -20,6 +20,7 @@ public class ProductDTO implements Serializable {
 	private Double price;
 	private String imgUrl;
 	private Instant date;
+	private Integer version;
 	
 	private List<CategoryDTO> categories = new ArrayList<>();
 	
@@ -34,10 +35,19 @@ public class ProductDTO implements Serializable {
 		this.imgUrl = imgUrl;
 		this.date = date;
 	}
+
+	public ProductDTO(Long id, String name, Double price, String imgUrl, Instant date) {
+		this.id = id;
+		this.name = name;
+		this.price = price;
+		this.imgUrl = imgUrl;
+		this.date = date;
+	}
 	
 	public ProductDTO(Product entity) {
 		this.id = entity.getId();
 		this.name = entity.getName();
+		this.version = entity.getVersion();
 		this.description = entity.getDescription();
 		this.price = entity.getPrice();
 		this.imgUrl = entity.getImgUrl();
@@ -97,6 +107,14 @@ public class ProductDTO implements Serializable {
 		this.date = date;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
 	public List<CategoryDTO> getCategories() {
 		return categories;
 	}
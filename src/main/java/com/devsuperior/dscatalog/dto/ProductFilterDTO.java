@@ -0,0 +1,80 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+
+public class ProductFilterDTO implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private List<Long> categoryIds = new ArrayList<>();
+	private Double minPrice;
+	private Double maxPrice;
+
+	@DateTimeFormat(iso = ISO.DATE_TIME)
+	private Instant minDate;
+
+	@DateTimeFormat(iso = ISO.DATE_TIME)
+	private Instant maxDate;
+
+	public ProductFilterDTO() {
+	}
+
+	public ProductFilterDTO(List<Long> categoryIds, Double minPrice, Double maxPrice, Instant minDate, Instant maxDate) {
+		this.categoryIds = categoryIds == null ? new ArrayList<>() : categoryIds;
+		this.minPrice = minPrice;
+		this.maxPrice = maxPrice;
+		this.minDate = minDate;
+		this.maxDate = maxDate;
+	}
+
+	public List<Long> getCategoryIds() {
+		return categoryIds;
+	}
+
+	public void setCategoryIds(List<Long> categoryIds) {
+		this.categoryIds = categoryIds == null ? new ArrayList<>() : categoryIds;
+	}
+
+	public Double getMinPrice() {
+		return minPrice;
+	}
+
+	public void setMinPrice(Double minPrice) {
+		this.minPrice = minPrice;
+	}
+
+	public Double getMaxPrice() {
+		return maxPrice;
+	}
+
+	public void setMaxPrice(Double maxPrice) {
+		this.maxPrice = maxPrice;
+	}
+
+	public Instant getMinDate() {
+		return minDate;
+	}
+
+	public void setMinDate(Instant minDate) {
+		this.minDate = minDate;
+	}
+
+	public Instant getMaxDate() {
+		return maxDate;
+	}
+
+	public void setMaxDate(Instant maxDate) {
+		this.maxDate = maxDate;
+	}
+
+	public boolean isEmpty() {
+		return categoryIds.isEmpty() && minPrice == null && maxPrice == null && minDate == null && maxDate == null;
+	}
+}
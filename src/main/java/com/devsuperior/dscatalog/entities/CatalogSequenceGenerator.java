@@ -0,0 +1,45 @@
+package com.devsuperior.dscatalog.entities;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/*
+ * Sequence generator whose allocation size and optimizer come from configuration instead
+ * of the mapping, so the id strategy can be switched without touching the entities:
+ *
+ *   spring.jpa.properties.dscatalog.id.allocation-size  ids reserved per sequence call (1 = no optimizer)
+ *   spring.jpa.properties.dscatalog.id.optimizer        pooled-lo (default), hilo or none
+ *
+ * pooled is rejected: it reads a sequence value as the top of its block, so a sequence
+ * restarted at the next free id (import.sql, CatalogSeeder) hands out ids below it, down
+ * to negative ones. pooled-lo needs the database sequence to increment by the allocation
+ * size, which schema generation takes care of; existing sequences must be altered to match.
+ */
+public class CatalogSequenceGenerator extends SequenceStyleGenerator {
+
+	public static final String ALLOCATION_SIZE = "dscatalog.id.allocation-size";
+	public static final String OPTIMIZER = "dscatalog.id.optimizer";
+
+	private static final String POOLED_LO = "pooled-lo";
+
+	@Override
+	public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+		ConfigurationService configuration = serviceRegistry.getService(ConfigurationService.class);
+		Object allocationSize = configuration.getSettings().get(ALLOCATION_SIZE);
+		if (allocationSize != null) {
+			params.setProperty(INCREMENT_PARAM, allocationSize.toString());
+		}
+		Object optimizer = configuration.getSettings().get(OPTIMIZER);
+		String name = optimizer == null ? POOLED_LO : optimizer.toString().trim();
+		if (name.equalsIgnoreCase("pooled")) {
+			throw new MappingException(OPTIMIZER + "=pooled is not supported, use pooled-lo, hilo or none");
+		}
+		params.setProperty(OPT_PARAM, name);
+		super.configure(type, params, serviceRegistry);
+	}
+}
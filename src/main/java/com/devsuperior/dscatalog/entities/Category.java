@@ -3,21 +3,35 @@ package com.devsuperior.dscatalog.entities;
 import java.time.Instant;
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "tb_category")
 public class Category {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "category_seq")
+	@GenericGenerator(name = "category_seq", type = CatalogSequenceGenerator.class, parameters = {
+		@Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "tb_category_seq"),
+		@Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")
+	})
 	private Long id;
 	private String name;
 	
@@ -27,6 +41,10 @@ public class Category {
 	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
 	private Instant updatedAt;
 
+	@Version
+	@ColumnDefault("0")
+	private Integer version;
+
 	public Category() {
 	}
 
@@ -59,6 +77,10 @@ public class Category {
 		return updatedAt;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
 	@PrePersist
 	public void prePersist() {
 		createdAt = Instant.now();
@@ -0,0 +1,71 @@
+package com.devsuperior.dscatalog.entities;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "tb_category_product_count")
+public class CategoryProductCount {
+
+	@Id
+	private Long categoryId;
+	private Long productCount;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant updatedAt;
+
+	public CategoryProductCount() {
+	}
+
+	public CategoryProductCount(Long categoryId, Long productCount, Instant updatedAt) {
+		this.categoryId = categoryId;
+		this.productCount = productCount;
+		this.updatedAt = updatedAt;
+	}
+
+	public Long getCategoryId() {
+		return categoryId;
+	}
+
+	public void setCategoryId(Long categoryId) {
+		this.categoryId = categoryId;
+	}
+
+	public Long getProductCount() {
+		return productCount;
+	}
+
+	public void setProductCount(Long productCount) {
+		this.productCount = productCount;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Instant updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(categoryId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CategoryProductCount other = (CategoryProductCount) obj;
+		return Objects.equals(categoryId, other.categoryId);
+	}
+}
@@ -0,0 +1,71 @@
+package com.devsuperior.dscatalog.entities;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "tb_import_checkpoint")
+public class ImportCheckpoint {
+
+	@Id
+	private String jobId;
+	private Long committedRows;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant updatedAt;
+
+	public ImportCheckpoint() {
+	}
+
+	public ImportCheckpoint(String jobId, Long committedRows, Instant updatedAt) {
+		this.jobId = jobId;
+		this.committedRows = committedRows;
+		this.updatedAt = updatedAt;
+	}
+
+	public String getJobId() {
+		return jobId;
+	}
+
+	public void setJobId(String jobId) {
+		this.jobId = jobId;
+	}
+
+	public Long getCommittedRows() {
+		return committedRows;
+	}
+
+	public void setCommittedRows(Long committedRows) {
+		this.committedRows = committedRows;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Instant updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(jobId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ImportCheckpoint other = (ImportCheckpoint) obj;
+		return Objects.equals(jobId, other.jobId);
+	}
+}
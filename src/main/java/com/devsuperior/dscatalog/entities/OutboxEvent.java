@@ -0,0 +1,113 @@
+package com.devsuperior.dscatalog.entities;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "tb_outbox_event")
+public class OutboxEvent {
+
+	public static final String PRODUCT = "product";
+	public static final String CATEGORY = "category";
+
+	/*
+	 * One sequence call per event, never a pooled block: the id is the delivery offset, and
+	 * a block drawn by one transaction would hand it ids far ahead of concurrent writers.
+	 * Not a CatalogSequenceGenerator, whose allocation size is shared with the catalog tables.
+	 */
+	@Id
+	@GeneratedValue(generator = "outbox_event_seq")
+	@SequenceGenerator(name = "outbox_event_seq", sequenceName = "tb_outbox_event_seq", allocationSize = 1)
+	private Long id;
+	private String aggregateType;
+	private Long aggregateId;
+	private Integer aggregateVersion;
+	private boolean deleted;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant createdAt;
+
+	public OutboxEvent() {
+	}
+
+	public OutboxEvent(String aggregateType, Long aggregateId, Integer aggregateVersion, boolean deleted,
+			Instant createdAt) {
+		this.aggregateType = aggregateType;
+		this.aggregateId = aggregateId;
+		this.aggregateVersion = aggregateVersion;
+		this.deleted = deleted;
+		this.createdAt = createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getAggregateType() {
+		return aggregateType;
+	}
+
+	public void setAggregateType(String aggregateType) {
+		this.aggregateType = aggregateType;
+	}
+
+	public Long getAggregateId() {
+		return aggregateId;
+	}
+
+	public void setAggregateId(Long aggregateId) {
+		this.aggregateId = aggregateId;
+	}
+
+	public Integer getAggregateVersion() {
+		return aggregateVersion;
+	}
+
+	public void setAggregateVersion(Integer aggregateVersion) {
+		this.aggregateVersion = aggregateVersion;
+	}
+
+	public boolean isDeleted() {
+		return deleted;
+	}
+
+	public void setDeleted(boolean deleted) {
+		this.deleted = deleted;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		OutboxEvent other = (OutboxEvent) obj;
+		return Objects.equals(id, other.id);
+	}
+}
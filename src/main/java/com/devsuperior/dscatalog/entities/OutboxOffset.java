@@ -0,0 +1,71 @@
+package com.devsuperior.dscatalog.entities;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "tb_outbox_offset")
+public class OutboxOffset {
+
+	@Id
+	private String consumer;
+	private Long lastEventId;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant updatedAt;
+
+	public OutboxOffset() {
+	}
+
+	public OutboxOffset(String consumer, Long lastEventId, Instant updatedAt) {
+		this.consumer = consumer;
+		this.lastEventId = lastEventId;
+		this.updatedAt = updatedAt;
+	}
+
+	public String getConsumer() {
+		return consumer;
+	}
+
+	public void setConsumer(String consumer) {
+		this.consumer = consumer;
+	}
+
+	public Long getLastEventId() {
+		return lastEventId;
+	}
+
+	public void setLastEventId(Long lastEventId) {
+		this.lastEventId = lastEventId;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Instant updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(consumer);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		OutboxOffset other = (OutboxOffset) obj;
+		return Objects.equals(consumer, other.consumer);
+	}
+}
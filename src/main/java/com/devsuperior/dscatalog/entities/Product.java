@@ -5,22 +5,43 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "tb_product")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "tb_product", indexes = {
+	@Index(name = "idx_product_name_id", columnList = "name, id"),
+	@Index(name = "idx_product_price", columnList = "price"),
+	@Index(name = "idx_product_date", columnList = "date")
+})
 public class Product {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "product_seq")
+	@GenericGenerator(name = "product_seq", type = CatalogSequenceGenerator.class, parameters = {
+		@Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "tb_product_seq"),
+		@Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")
+	})
 	private Long id;
 	private String name;
 	
@@ -31,11 +52,23 @@ public class Product {
 	
 	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
 	private Instant date;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant createdAt;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant updatedAt;
+
+	@Version
+	@ColumnDefault("0")
+	private Integer version;
 	
 	@ManyToMany
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	@JoinTable(name = "tb_product_category",
 		joinColumns = @JoinColumn(name = "product_id"),
-		inverseJoinColumns = @JoinColumn(name = "category_id"))	
+		inverseJoinColumns = @JoinColumn(name = "category_id"),
+		indexes = @Index(name = "idx_product_category_category", columnList = "category_id, product_id"))
 	Set<Category> categories = new HashSet<>();
 	
 	public Product() {
@@ -102,6 +135,28 @@ public class Product {
 		return categories;
 	}
 
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public Integer getVersion() {
+		return version;
+	}
+
+	@PrePersist
+	public void prePersist() {
+		createdAt = Instant.now();
+	}
+
+	@PreUpdate
+	public void preUpdate() {
+		updatedAt = Instant.now();
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(id);
@@ -0,0 +1,115 @@
+package com.devsuperior.dscatalog.metrics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Warms every Hikari pool (the primary and, when configured, the replica) up before
+ * traffic arrives and raises an alarm when one saturates. Wait time and
+ * active/idle/pending gauges come from Hikari's own Micrometer integration
+ * (hikaricp.connections.*); this adds dscatalog.pool.saturation, tagged with the pool
+ * name and counted each time a check finds threads waiting for a connection or usage
+ * above the threshold.
+ */
+@Component
+public class ConnectionPoolMonitor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ConnectionPoolMonitor.class);
+
+	@Autowired
+	private ObjectProvider<HikariDataSource> pools;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Value("${dscatalog.pool.warm-up:true}")
+	private boolean warmUp;
+
+	@Value("${dscatalog.pool.saturation-threshold:0.9}")
+	private double saturationThreshold;
+
+	private final Map<String, Boolean> saturated = new ConcurrentHashMap<>();
+
+	// opens minimumIdle connections at once so the first requests never pay for a connect
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		if (!warmUp) {
+			return;
+		}
+		pools().forEach(this::warmUp);
+	}
+
+	@Scheduled(fixedDelayString = "${dscatalog.pool.monitor-interval-ms:5000}")
+	public void check() {
+		pools().forEach(this::check);
+	}
+
+	// the same pool can be registered under several bean names
+	private List<HikariDataSource> pools() {
+		return pools.orderedStream().distinct().toList();
+	}
+
+	private void warmUp(HikariDataSource pool) {
+		List<Connection> connections = new ArrayList<>();
+		try {
+			while (connections.size() < pool.getMinimumIdle()) {
+				connections.add(pool.getConnection());
+			}
+		}
+		catch (SQLException e) {
+			LOG.warn("Pool {} warm-up stopped after {} connections: {}", pool.getPoolName(), connections.size(),
+					e.getMessage());
+		}
+		finally {
+			for (Connection connection : connections) {
+				try {
+					connection.close();
+				}
+				catch (SQLException e) {
+					LOG.debug("Could not return warm-up connection", e);
+				}
+			}
+		}
+	}
+
+	private void check(HikariDataSource pool) {
+		HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+		if (mxBean == null) {
+			return;
+		}
+		int active = mxBean.getActiveConnections();
+		int waiting = mxBean.getThreadsAwaitingConnection();
+		int max = pool.getMaximumPoolSize();
+		boolean nowSaturated = waiting > 0 || active >= saturationThreshold * max;
+		boolean wasSaturated = Boolean.TRUE.equals(saturated.put(pool.getPoolName(), nowSaturated));
+		if (nowSaturated) {
+			registry.counter("dscatalog.pool.saturation", "pool", pool.getPoolName()).increment();
+			if (!wasSaturated) {
+				LOG.warn("Connection pool {} saturated: active={} max={} waiting={}", pool.getPoolName(), active, max,
+						waiting);
+			}
+		}
+		else if (wasSaturated) {
+			LOG.info("Connection pool {} recovered: active={} max={}", pool.getPoolName(), active, max);
+		}
+	}
+}
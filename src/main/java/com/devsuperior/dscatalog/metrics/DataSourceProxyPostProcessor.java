@@ -0,0 +1,42 @@
+package com.devsuperior.dscatalog.metrics;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/*
+ * Wraps the application DataSource in a datasource-proxy that reports to
+ * QueryMetricsListener and, when configured, to SlowQueryLogListener. Pool-level metrics
+ * still see Hikari through unwrap().
+ */
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+	private final ObjectProvider<MeterRegistry> registry;
+	private final SlowQueryLogListener slowQueryLog;
+
+	public DataSourceProxyPostProcessor(ObjectProvider<MeterRegistry> registry, SlowQueryLogListener slowQueryLog) {
+		this.registry = registry;
+		this.slowQueryLog = slowQueryLog;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+			QueryMetricsListener listener = new QueryMetricsListener(registry.getObject());
+			ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+					.name(beanName)
+					.listener(listener)
+					.methodListener(listener)
+					.proxyResultSet();
+			if (slowQueryLog != null) {
+				builder.listener(slowQueryLog);
+			}
+			return builder.build();
+		}
+		return bean;
+	}
+}
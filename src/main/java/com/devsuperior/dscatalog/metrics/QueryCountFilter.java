@@ -0,0 +1,41 @@
+package com.devsuperior.dscatalog.metrics;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class QueryCountFilter extends OncePerRequestFilter {
+
+	private final DistributionSummary statementsPerRequest;
+	private final DistributionSummary rowsPerRequest;
+
+	public QueryCountFilter(MeterRegistry registry) {
+		statementsPerRequest = DistributionSummary.builder("dscatalog.http.request.statements")
+				.description("JDBC statements executed per HTTP request")
+				.register(registry);
+		rowsPerRequest = DistributionSummary.builder("dscatalog.http.request.rows")
+				.description("JDBC rows read or written per HTTP request")
+				.register(registry);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		QueryStats stats = QueryStats.start();
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			QueryStats.clear();
+			statementsPerRequest.record(stats.getStatements());
+			rowsPerRequest.record(stats.getRows());
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.devsuperior.dscatalog.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/*
+ * Debug mode (dscatalog.debug.query-count-header=true): adds X-Query-Count and X-Query-Rows
+ * to every response body, written just before serialisation, when all service calls of
+ * the request have run. Makes N+1 regressions visible from a single curl.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "dscatalog.debug.query-count-header", havingValue = "true")
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+
+	@Override
+	public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+			Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+			ServerHttpResponse response) {
+		QueryStats stats = QueryStats.current();
+		if (stats != null) {
+			response.getHeaders().set("X-Query-Count", Long.toString(stats.getStatements()));
+			response.getHeaders().set("X-Query-Rows", Long.toString(stats.getRows()));
+		}
+		return body;
+	}
+}
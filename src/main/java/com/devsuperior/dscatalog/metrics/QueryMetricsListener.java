@@ -0,0 +1,92 @@
+package com.devsuperior.dscatalog.metrics;
+
+import java.sql.ResultSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+/*
+ * Counts statements by type and rows read (ResultSet.next() returning true) or written
+ * (update counts), globally as meters and per request in QueryStats. A JDBC batch
+ * counts as one statement: it is one round trip.
+ */
+public class QueryMetricsListener implements QueryExecutionListener, MethodExecutionListener {
+
+	private final Map<QueryType, Counter> statements = new EnumMap<>(QueryType.class);
+	private final Counter rowsRead;
+	private final Counter rowsWritten;
+
+	public QueryMetricsListener(MeterRegistry registry) {
+		for (QueryType type : QueryType.values()) {
+			statements.put(type, Counter.builder("dscatalog.jdbc.statements")
+					.description("JDBC statements executed")
+					.tag("type", type.name().toLowerCase(Locale.ROOT))
+					.register(registry));
+		}
+		rowsRead = Counter.builder("dscatalog.jdbc.rows").tag("kind", "read").register(registry);
+		rowsWritten = Counter.builder("dscatalog.jdbc.rows").tag("kind", "written").register(registry);
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		QueryType type = queryInfoList.isEmpty() ? QueryType.OTHER : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+		statements.get(type).increment();
+		long written = updateCount(execInfo.getResult());
+		if (written > 0) {
+			rowsWritten.increment(written);
+		}
+		QueryStats stats = QueryStats.current();
+		if (stats != null) {
+			stats.statementExecuted();
+			stats.rowsProcessed(written);
+		}
+	}
+
+	@Override
+	public void beforeMethod(MethodExecutionContext executionContext) {
+	}
+
+	@Override
+	public void afterMethod(MethodExecutionContext executionContext) {
+		if (executionContext.getTarget() instanceof ResultSet && "next".equals(executionContext.getMethod().getName())
+				&& Boolean.TRUE.equals(executionContext.getResult())) {
+			rowsRead.increment();
+			QueryStats stats = QueryStats.current();
+			if (stats != null) {
+				stats.rowsProcessed(1);
+			}
+		}
+	}
+
+	private long updateCount(Object result) {
+		if (result instanceof Integer count) {
+			return Math.max(count, 0);
+		}
+		if (result instanceof Long count) {
+			return Math.max(count, 0);
+		}
+		if (result instanceof int[] counts) {
+			long total = 0;
+			for (int count : counts) {
+				total += Math.max(count, 0);
+			}
+			return total;
+		}
+		return 0;
+	}
+}
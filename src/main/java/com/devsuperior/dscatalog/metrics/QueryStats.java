@@ -0,0 +1,47 @@
+package com.devsuperior.dscatalog.metrics;
+
+/*
+ * JDBC work done on the current request thread, filled in by QueryMetricsListener while
+ * QueryCountFilter has a request in scope. Statements issued by other threads (async
+ * export, import writer) are counted in the global metrics only.
+ */
+public final class QueryStats {
+
+	private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+	private long statements;
+	private long rows;
+
+	private QueryStats() {
+	}
+
+	static QueryStats start() {
+		QueryStats stats = new QueryStats();
+		CURRENT.set(stats);
+		return stats;
+	}
+
+	static void clear() {
+		CURRENT.remove();
+	}
+
+	public static QueryStats current() {
+		return CURRENT.get();
+	}
+
+	void statementExecuted() {
+		statements++;
+	}
+
+	void rowsProcessed(long count) {
+		rows += count;
+	}
+
+	public long getStatements() {
+		return statements;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+}
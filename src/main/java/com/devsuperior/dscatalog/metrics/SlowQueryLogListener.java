@@ -0,0 +1,67 @@
+package com.devsuperior.dscatalog.metrics;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/*
+ * Logs statements slower than the threshold, keeping only a sample of them when
+ * sampleRate is below 1. Fast statements cost one comparison; the calling service
+ * method is resolved with a stack walk only for statements that get logged. Output goes
+ * to the "dscatalog.slow-query" logger as key=value pairs, asynchronously (see
+ * logback-spring.xml).
+ */
+public class SlowQueryLogListener implements QueryExecutionListener {
+
+	private static final Logger LOG = LoggerFactory.getLogger("dscatalog.slow-query");
+	private static final String SERVICES_PACKAGE = "com.devsuperior.dscatalog.services.";
+
+	private final long thresholdMillis;
+	private final double sampleRate;
+
+	public SlowQueryLogListener(long thresholdMillis, double sampleRate) {
+		this.thresholdMillis = thresholdMillis;
+		this.sampleRate = sampleRate;
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		if (execInfo.getElapsedTime() < thresholdMillis || !LOG.isWarnEnabled()) {
+			return;
+		}
+		if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+			return;
+		}
+		int binds = 0;
+		StringBuilder sql = new StringBuilder();
+		for (QueryInfo query : queryInfoList) {
+			if (!query.getParametersList().isEmpty()) {
+				binds += query.getParametersList().get(0).size();
+			}
+			if (sql.length() > 0) {
+				sql.append("; ");
+			}
+			sql.append(query.getQuery());
+		}
+		LOG.warn("durationMs={} binds={} batchSize={} success={} caller={} sql=\"{}\"", execInfo.getElapsedTime(),
+				binds, execInfo.isBatch() ? execInfo.getBatchSize() : 0, execInfo.isSuccess(), caller(), sql);
+	}
+
+	private String caller() {
+		return StackWalker.getInstance().walk(frames -> frames
+				.filter(frame -> frame.getClassName().startsWith(SERVICES_PACKAGE) && !frame.getClassName().contains("$$"))
+				.findFirst()
+				.map(frame -> frame.getClassName().substring(SERVICES_PACKAGE.length()) + "." + frame.getMethodName())
+				.orElse("-"));
+	}
+}
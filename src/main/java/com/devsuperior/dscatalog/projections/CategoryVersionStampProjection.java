@@ -0,0 +1,6 @@
+package com.devsuperior.dscatalog.projections;
+
+public interface CategoryVersionStampProjection extends VersionStampProjection {
+
+	Long getProductCount();
+}
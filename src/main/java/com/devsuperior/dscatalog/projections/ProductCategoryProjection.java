@@ -0,0 +1,8 @@
+package com.devsuperior.dscatalog.projections;
+
+public interface ProductCategoryProjection {
+
+	Long getProductId();
+	Long getCategoryId();
+	String getCategoryName();
+}
@@ -0,0 +1,6 @@
+package com.devsuperior.dscatalog.projections;
+
+public interface ProductVersionStampProjection extends VersionStampProjection {
+
+	Long getCategoryRevision();
+}
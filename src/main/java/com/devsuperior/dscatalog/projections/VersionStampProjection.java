@@ -0,0 +1,9 @@
+package com.devsuperior.dscatalog.projections;
+
+import java.time.Instant;
+
+public interface VersionStampProjection {
+
+	Integer getVersion();
+	Instant getLastModified();
+}
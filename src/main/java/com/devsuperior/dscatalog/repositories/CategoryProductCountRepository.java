@@ -0,0 +1,44 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscatalog.entities.CategoryProductCount;
+import com.devsuperior.dscatalog.projections.CategoryProductCountProjection;
+
+@Repository
+public interface CategoryProductCountRepository extends JpaRepository<CategoryProductCount, Long> {
+
+	/*
+	 * Counts are read as scalars rather than entities: addToCount() is a bulk update that
+	 * bypasses the persistence context, so a managed CategoryProductCount loaded earlier in
+	 * the same transaction would still carry the old value.
+	 */
+	@Query("SELECT obj.categoryId AS categoryId, obj.productCount AS productCount FROM CategoryProductCount obj "
+			+ "WHERE obj.categoryId IN :categoryIds")
+	List<CategoryProductCountProjection> findCountsByCategoryIdIn(Collection<Long> categoryIds);
+
+	@Query("SELECT obj.categoryId AS categoryId, obj.productCount AS productCount FROM CategoryProductCount obj")
+	List<CategoryProductCountProjection> findAllCounts();
+
+	@Modifying
+	@Query("UPDATE CategoryProductCount obj SET obj.productCount = obj.productCount + :delta, obj.updatedAt = :now "
+			+ "WHERE obj.categoryId = :categoryId")
+	int addToCount(Long categoryId, long delta, Instant now);
+
+	@Modifying
+	@Query("DELETE FROM CategoryProductCount obj WHERE obj.categoryId IN :categoryIds")
+	int deleteAllByCategoryIdIn(Collection<Long> categoryIds);
+
+	@Modifying(clearAutomatically = true)
+	@Query(nativeQuery = true, value = "INSERT INTO tb_category_product_count (category_id, product_count, updated_at) "
+			+ "SELECT c.id, COUNT(pc.product_id), CURRENT_TIMESTAMP FROM tb_category c "
+			+ "LEFT JOIN tb_product_category pc ON pc.category_id = c.id GROUP BY c.id")
+	int insertFromProductCategories();
+}
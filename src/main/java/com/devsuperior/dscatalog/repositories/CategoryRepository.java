@@ -1,11 +1,41 @@
 package com.devsuperior.dscatalog.repositories;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.projections.CategoryVersionStampProjection;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+	@Query("SELECT obj FROM Category obj WHERE obj.id > :id ORDER BY obj.id")
+	List<Category> findAfter(Long id, Pageable pageable);
+
+	@Query("SELECT obj.id FROM Category obj")
+	List<Long> findAllIds();
+
+	// a changed product count moves lastModified too, it is part of the representation
+	@Query("SELECT obj.version AS version, cnt.productCount AS productCount, "
+			+ "CASE WHEN cnt.updatedAt > COALESCE(obj.updatedAt, obj.createdAt) THEN cnt.updatedAt "
+			+ "ELSE COALESCE(obj.updatedAt, obj.createdAt) END AS lastModified "
+			+ "FROM Category obj LEFT JOIN CategoryProductCount cnt ON cnt.categoryId = obj.id WHERE obj.id = :id")
+	CategoryVersionStampProjection findVersionStampById(Long id);
+
+	@Modifying
+	@Query("DELETE FROM Category obj WHERE obj.id = :id")
+	int deleteByIdReturningCount(Long id);
+
+	@Query("SELECT obj.id FROM Category obj WHERE obj.id IN :ids")
+	List<Long> findExistingIds(Collection<Long> ids);
+
+	@Modifying
+	@Query("DELETE FROM Category obj WHERE obj.id IN :ids")
+	int deleteAllByIdReturningCount(Collection<Long> ids);
 }
@@ -0,0 +1,23 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscatalog.entities.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	@Query("SELECT obj FROM OutboxEvent obj WHERE obj.id > :afterId ORDER BY obj.id")
+	List<OutboxEvent> findBatch(Long afterId, Pageable pageable);
+
+	@Modifying
+	@Query("DELETE FROM OutboxEvent obj WHERE obj.id <= :upToId AND obj.createdAt < :before")
+	int deleteDelivered(Long upToId, Instant before);
+}
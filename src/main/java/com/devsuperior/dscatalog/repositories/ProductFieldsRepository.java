@@ -0,0 +1,32 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+
+/*
+ * Criteria queries behind the filtered product listings. Only the conditions a filter
+ * actually sets end up in the WHERE clause, so the optimizer sees plain range and EXISTS
+ * predicates it can use indexes for. findFields reads only the given basic Product
+ * attributes: the SELECT list is built from them, so unrequested columns (e.g. the TEXT
+ * description) never leave the database. Its rows are keyed by attribute name.
+ */
+public interface ProductFieldsRepository {
+
+	Page<ProductDTO> findFilteredSummaries(ProductFilterDTO filter, Pageable pageable);
+
+	// product counts per category for the filter's price and date ranges, ignoring its categories
+	List<CategoryFacetDTO> countByCategory(ProductFilterDTO filter);
+
+	Page<Map<String, Object>> findFields(Collection<String> attributes, ProductFilterDTO filter, Pageable pageable);
+
+	Optional<Map<String, Object>> findFieldsById(Collection<String> attributes, Long id);
+}
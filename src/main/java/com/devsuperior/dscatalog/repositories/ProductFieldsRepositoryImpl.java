@@ -0,0 +1,149 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+
+public class ProductFieldsRepositoryImpl implements ProductFieldsRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Page<ProductDTO> findFilteredSummaries(ProductFilterDTO filter, Pageable pageable) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<ProductDTO> query = cb.createQuery(ProductDTO.class);
+		Root<Product> root = query.from(Product.class);
+		query.select(cb.construct(ProductDTO.class, root.get("id"), root.get("name"), root.get("price"),
+				root.get("imgUrl"), root.get("date")));
+		query.where(filter(cb, query, root, filter));
+		query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+		TypedQuery<ProductDTO> typed = entityManager.createQuery(query);
+		if (pageable.isPaged()) {
+			typed.setFirstResult((int) pageable.getOffset());
+			typed.setMaxResults(pageable.getPageSize());
+		}
+		return PageableExecutionUtils.getPage(typed.getResultList(), pageable, () -> count(filter));
+	}
+
+	@Override
+	public List<CategoryFacetDTO> countByCategory(ProductFilterDTO filter) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<CategoryFacetDTO> query = cb.createQuery(CategoryFacetDTO.class);
+		Root<Product> root = query.from(Product.class);
+		Join<Product, Category> category = root.join("categories");
+		query.select(cb.construct(CategoryFacetDTO.class, category.get("id"), category.get("name"),
+				cb.count(root.get("id"))));
+		query.where(ranges(cb, root, filter).toArray(Predicate[]::new));
+		query.groupBy(category.get("id"), category.get("name"));
+		query.orderBy(cb.asc(category.get("name")));
+		return entityManager.createQuery(query).getResultList();
+	}
+
+	@Override
+	public Page<Map<String, Object>> findFields(Collection<String> attributes, ProductFilterDTO filter,
+			Pageable pageable) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Product> root = query.from(Product.class);
+		query.multiselect(selection(root, attributes));
+		query.where(filter(cb, query, root, filter));
+		query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+		TypedQuery<Tuple> typed = entityManager.createQuery(query);
+		if (pageable.isPaged()) {
+			typed.setFirstResult((int) pageable.getOffset());
+			typed.setMaxResults(pageable.getPageSize());
+		}
+		List<Map<String, Object>> rows = typed.getResultList().stream().map(tuple -> toMap(attributes, tuple)).toList();
+		return PageableExecutionUtils.getPage(rows, pageable, () -> count(filter));
+	}
+
+	@Override
+	public Optional<Map<String, Object>> findFieldsById(Collection<String> attributes, Long id) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Product> root = query.from(Product.class);
+		query.multiselect(selection(root, attributes));
+		query.where(cb.equal(root.get("id"), id));
+		return entityManager.createQuery(query).getResultStream().findFirst().map(tuple -> toMap(attributes, tuple));
+	}
+
+	private long count(ProductFilterDTO filter) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Product> root = query.from(Product.class);
+		query.select(cb.count(root)).where(filter(cb, query, root, filter));
+		return entityManager.createQuery(query).getSingleResult();
+	}
+
+	// a product matches when it is in any of the filter's categories and within its ranges
+	private static Predicate[] filter(CriteriaBuilder cb, AbstractQuery<?> query, Root<Product> root,
+			ProductFilterDTO filter) {
+		List<Predicate> predicates = ranges(cb, root, filter);
+		if (!filter.getCategoryIds().isEmpty()) {
+			Subquery<Long> categories = query.subquery(Long.class);
+			Join<Product, Category> category = categories.correlate(root).join("categories");
+			categories.select(category.get("id")).where(category.get("id").in(filter.getCategoryIds()));
+			predicates.add(cb.exists(categories));
+		}
+		return predicates.toArray(Predicate[]::new);
+	}
+
+	private static List<Predicate> ranges(CriteriaBuilder cb, Root<Product> root, ProductFilterDTO filter) {
+		List<Predicate> predicates = new ArrayList<>();
+		if (filter.getMinPrice() != null) {
+			predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+		}
+		if (filter.getMaxPrice() != null) {
+			predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+		}
+		if (filter.getMinDate() != null) {
+			predicates.add(cb.greaterThanOrEqualTo(root.get("date"), filter.getMinDate()));
+		}
+		if (filter.getMaxDate() != null) {
+			predicates.add(cb.lessThanOrEqualTo(root.get("date"), filter.getMaxDate()));
+		}
+		return predicates;
+	}
+
+	private static List<Selection<?>> selection(Root<Product> root, Collection<String> attributes) {
+		return attributes.stream().<Selection<?>>map(attribute -> root.get(attribute).alias(attribute)).toList();
+	}
+
+	private static Map<String, Object> toMap(Collection<String> attributes, Tuple tuple) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		for (String attribute : attributes) {
+			row.put(attribute, tuple.get(attribute));
+		}
+		return row;
+	}
+}
@@ -0,0 +1,77 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+import io.r2dbc.spi.Row;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Non-blocking reads over the same tables JPA maps, through R2DBC. Rows are pulled as
+ * the subscriber requests them, so a slow client slows the query down instead of
+ * buffering the result.
+ */
+@Repository
+public class ProductReadRepository {
+
+	private static final String SUMMARY_COLUMNS = "SELECT p.id, p.name, p.description, p.price, p.img_url, p.date "
+			+ "FROM tb_product p ";
+
+	public record CategoryRow(Long productId, Long categoryId, String categoryName) {
+	}
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	public Flux<ProductDTO> findAll() {
+		return databaseClient.sql(SUMMARY_COLUMNS + "ORDER BY p.id")
+				.map((row, metadata) -> toProduct(row))
+				.all();
+	}
+
+	public Flux<ProductDTO> findPage(long offset, int limit) {
+		return databaseClient.sql(SUMMARY_COLUMNS + "ORDER BY p.id LIMIT :limit OFFSET :offset")
+				.bind("limit", limit)
+				.bind("offset", offset)
+				.map((row, metadata) -> toProduct(row))
+				.all();
+	}
+
+	public Mono<ProductDTO> findById(Long id) {
+		return databaseClient.sql(SUMMARY_COLUMNS + "WHERE p.id = :id")
+				.bind("id", id)
+				.map((row, metadata) -> toProduct(row))
+				.one();
+	}
+
+	public Flux<CategoryRow> findCategoriesByProductIds(Collection<Long> productIds) {
+		return databaseClient.sql("SELECT pc.product_id, c.id, c.name FROM tb_product_category pc "
+				+ "JOIN tb_category c ON c.id = pc.category_id "
+				+ "WHERE pc.product_id IN (:productIds)")
+				.bind("productIds", productIds)
+				.map((row, metadata) -> toCategory(row))
+				.all();
+	}
+
+	private ProductDTO toProduct(Row row) {
+		// Hibernate writes Instant into TIMESTAMP WITHOUT TIME ZONE as UTC wall time
+		LocalDateTime date = row.get("date", LocalDateTime.class);
+		Instant instant = date == null ? null : date.toInstant(ZoneOffset.UTC);
+		return new ProductDTO(row.get("id", Long.class), row.get("name", String.class),
+				row.get("description", String.class), row.get("price", Double.class),
+				row.get("img_url", String.class), instant);
+	}
+
+	private CategoryRow toCategory(Row row) {
+		return new CategoryRow(row.get("product_id", Long.class), row.get("id", Long.class), row.get("name", String.class));
+	}
+}
@@ -1,11 +1,93 @@
 package com.devsuperior.dscatalog.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.devsuperior.dscatalog.dto.ProductDTO;
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.projections.ProductCategoryProjection;
+import com.devsuperior.dscatalog.projections.ProductVersionStampProjection;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductFieldsRepository {
+
+	@EntityGraph(attributePaths = "categories")
+	Optional<Product> findWithCategoriesById(Long id);
+
+	/*
+	 * The body embeds category names, so a renamed category must change the product's
+	 * validators too: categoryRevision is the sum of its categories' versions, which grows
+	 * with every category update, and lastModified is the latest of the product's and its
+	 * categories' modification times.
+	 */
+	@Query("SELECT obj.version AS version, SUM(cat.version) AS categoryRevision, "
+			+ "CASE WHEN MAX(COALESCE(cat.updatedAt, cat.createdAt)) > COALESCE(obj.updatedAt, obj.createdAt) "
+			+ "THEN MAX(COALESCE(cat.updatedAt, cat.createdAt)) "
+			+ "ELSE COALESCE(obj.updatedAt, obj.createdAt) END AS lastModified "
+			+ "FROM Product obj LEFT JOIN obj.categories cat WHERE obj.id = :id "
+			+ "GROUP BY obj.id, obj.version, obj.updatedAt, obj.createdAt")
+	ProductVersionStampProjection findVersionStampById(Long id);
+
+	@EntityGraph(attributePaths = "categories")
+	List<Product> findWithCategoriesByIdIn(Collection<Long> ids);
+
+	@Query("SELECT obj.id AS productId, cat.id AS categoryId, cat.name AS categoryName "
+			+ "FROM Product obj JOIN obj.categories cat "
+			+ "WHERE obj.id IN :productIds")
+	List<ProductCategoryProjection> findCategoriesByProductIds(Collection<Long> productIds);
+
+	@Query(value = "SELECT new com.devsuperior.dscatalog.dto.ProductDTO(obj.id, obj.name, obj.price, obj.imgUrl, obj.date) "
+			+ "FROM Product obj",
+			countQuery = "SELECT COUNT(obj) FROM Product obj")
+	Page<ProductDTO> findAllSummaries(Pageable pageable);
+
+	@Query("SELECT new com.devsuperior.dscatalog.dto.ProductDTO(obj.id, obj.name, obj.price, obj.imgUrl, obj.date) "
+			+ "FROM Product obj "
+			+ "ORDER BY obj.name ASC NULLS LAST, obj.id")
+	List<ProductDTO> findFirstSummaries(Pageable pageable);
+
+	// named rows only, written as a range on (name, id) so it can seek idx_product_name_id
+	@Query("SELECT new com.devsuperior.dscatalog.dto.ProductDTO(obj.id, obj.name, obj.price, obj.imgUrl, obj.date) "
+			+ "FROM Product obj "
+			+ "WHERE obj.name >= :name AND (obj.name > :name OR obj.id > :id) "
+			+ "ORDER BY obj.name, obj.id")
+	List<ProductDTO> findSummariesAfter(String name, Long id, Pageable pageable);
+
+	// products without a name sort last, by id
+	@Query("SELECT new com.devsuperior.dscatalog.dto.ProductDTO(obj.id, obj.name, obj.price, obj.imgUrl, obj.date) "
+			+ "FROM Product obj "
+			+ "WHERE obj.name IS NULL AND obj.id > :id "
+			+ "ORDER BY obj.id")
+	List<ProductDTO> findNamelessSummariesAfter(Long id, Pageable pageable);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("SELECT new com.devsuperior.dscatalog.dto.ProductDTO(obj.id, obj.name, obj.description, obj.price, obj.imgUrl, obj.date) "
+			+ "FROM Product obj "
+			+ "ORDER BY obj.id")
+	Stream<ProductDTO> streamAll();
+
+	@Modifying
+	@Query("DELETE FROM Product obj WHERE obj.id = :id")
+	int deleteByIdReturningCount(Long id);
+
+	@Query("SELECT obj.id FROM Product obj WHERE obj.id IN :ids")
+	List<Long> findExistingIds(Collection<Long> ids);
 
+	@Modifying
+	@Query("DELETE FROM Product obj WHERE obj.id IN :ids")
+	int deleteAllByIdReturningCount(Collection<Long> ids);
 }
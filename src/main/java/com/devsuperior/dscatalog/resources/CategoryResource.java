@@ -1,10 +1,12 @@
 package com.devsuperior.dscatalog.resources;
 
 import java.net.URI;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +14,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.devsuperior.dscatalog.dto.BulkDeleteResultDTO;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.projections.CategoryVersionStampProjection;
 import com.devsuperior.dscatalog.services.CategoryService;
 
 @RestController
@@ -32,10 +40,22 @@ public class CategoryResource {
 		return ResponseEntity.ok().body(list);
 	}
 
+	@GetMapping(value = "/cursor")
+	public ResponseEntity<CursorPageDTO<CategoryDTO>> findAllByCursor(@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "12") Integer size) {
+		CursorPageDTO<CategoryDTO> page = service.findAllByCursor(cursor, size);
+		return ResponseEntity.ok().body(page);
+	}
+
 	@GetMapping(value = "/{id}")
-	public ResponseEntity<CategoryDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<CategoryDTO> findById(@PathVariable Long id, WebRequest request) {
+		CategoryVersionStampProjection stamp = service.findVersionStamp(id);
+		Long productCount = stamp == null ? null : stamp.getProductCount();
+		if (ConditionalRequests.isNotModified(request, stamp, productCount)) {
+			return ConditionalRequests.notModified();
+		}
 		CategoryDTO dto = service.findById(id);
-		return ResponseEntity.ok().body(dto);
+		return ConditionalRequests.ok(request, dto, stamp, productCount);
 	}
 	
 	@PostMapping
@@ -47,9 +67,16 @@ public class CategoryResource {
 	}
 
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<CategoryDTO> update(@PathVariable Long id, @RequestBody CategoryDTO dto) {
-		dto = service.update(id, dto);
-		return ResponseEntity.ok().body(dto);
+	public ResponseEntity<CategoryDTO> update(@PathVariable Long id, @RequestBody CategoryDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, WebRequest request) {
+		dto = service.update(id, dto, ConditionalRequests.expectedVersion(ifMatch));
+		return ConditionalRequests.ok(request, dto, dto.getVersion(), dto.getProductCount());
+	}
+
+	@DeleteMapping(value = "/batch")
+	public ResponseEntity<BulkDeleteResultDTO> deleteAll(@RequestBody List<Long> ids) {
+		BulkDeleteResultDTO result = service.deleteAll(ids);
+		return ResponseEntity.ok().body(result);
 	}
 
 	@DeleteMapping(value = "/{id}")
@@ -0,0 +1,113 @@
+package com.devsuperior.dscatalog.resources;
+
+import java.util.List;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import com.devsuperior.dscatalog.projections.VersionStampProjection;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+
+/*
+ * Validators for single-resource reads and writes. The ETag is the entity's optimistic
+ * lock version, so the value a client got from GET is what it sends back in If-Match.
+ * Resources that also show derived data (a category's product count) pass it as the
+ * revision, giving "version-revision": any change to the body changes the ETag, while
+ * If-Match only checks the version part the client can actually conflict on.
+ * Reads look up only the version and last modification time, so a matching
+ * If-None-Match/If-Modified-Since is answered with 304 before the entity is loaded.
+ * no-cache makes CDNs and clients revalidate on every poll. The same version is served as
+ * JSON and as CBOR, so the CBOR ETag carries a "-cbor" suffix; the format is taken from
+ * Accept the way content negotiation picks it, JSON first.
+ */
+final class ConditionalRequests {
+
+	private ConditionalRequests() {
+	}
+
+	static boolean isNotModified(WebRequest request, VersionStampProjection stamp, Long revision) {
+		if (stamp == null || stamp.getVersion() == null) {
+			return false;
+		}
+		long lastModified = stamp.getLastModified() == null ? -1 : stamp.getLastModified().toEpochMilli();
+		return request.checkNotModified(eTag(request, stamp.getVersion(), revision), lastModified);
+	}
+
+	static <T> ResponseEntity<T> notModified() {
+		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache())
+				.varyBy(HttpHeaders.ACCEPT).build();
+	}
+
+	static <T> ResponseEntity<T> ok(WebRequest request, T body, VersionStampProjection stamp, Long revision) {
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+		if (stamp != null && stamp.getVersion() != null) {
+			builder.eTag(eTag(request, stamp.getVersion(), revision));
+		}
+		if (stamp != null && stamp.getLastModified() != null) {
+			builder.lastModified(stamp.getLastModified());
+		}
+		return builder.body(body);
+	}
+
+	static <T> ResponseEntity<T> ok(WebRequest request, T body, Integer version, Long revision) {
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+		if (version != null) {
+			builder.eTag(eTag(request, version, revision));
+		}
+		return builder.body(body);
+	}
+
+	// null for a missing header or "*", which put no condition on the current version
+	static Integer expectedVersion(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		String value = ifMatch.trim();
+		if (value.startsWith("W/")) {
+			throw new InvalidRequestException("If-Match requires a strong ETag");
+		}
+		value = value.replace("\"", "");
+		int revision = value.indexOf('-');
+		try {
+			return Integer.valueOf(revision < 0 ? value : value.substring(0, revision));
+		}
+		catch (NumberFormatException e) {
+			throw new InvalidRequestException("Invalid If-Match " + ifMatch);
+		}
+	}
+
+	private static String eTag(WebRequest request, Integer version, Long revision) {
+		String tag = revision == null ? version.toString() : version + "-" + revision;
+		return "\"" + (prefersCbor(request) ? tag + "-cbor" : tag) + "\"";
+	}
+
+	private static boolean prefersCbor(WebRequest request) {
+		String accept = request.getHeader(HttpHeaders.ACCEPT);
+		if (accept == null) {
+			return false;
+		}
+		List<MediaType> acceptable;
+		try {
+			acceptable = MediaType.parseMediaTypes(accept);
+		}
+		catch (InvalidMediaTypeException e) {
+			return false;
+		}
+		MimeTypeUtils.sortBySpecificity(acceptable);
+		for (MediaType type : acceptable) {
+			if (type.includes(MediaType.APPLICATION_JSON)) {
+				return false;
+			}
+			if (type.includes(MediaType.APPLICATION_CBOR)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,35 @@
+package com.devsuperior.dscatalog.resources;
+
+import java.io.InputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscatalog.dto.ImportReportDTO;
+import com.devsuperior.dscatalog.services.ProductImportService;
+
+@RestController
+@RequestMapping(value = "/products/import")
+public class ProductImportResource {
+
+	@Autowired
+	private ProductImportService service;
+
+	@PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<ImportReportDTO> importNdjson(InputStream body,
+			@RequestParam(required = false) String jobId) {
+		ImportReportDTO report = service.importNdjson(body, jobId);
+		return ResponseEntity.ok().body(report);
+	}
+
+	@PostMapping(consumes = "text/csv")
+	public ResponseEntity<ImportReportDTO> importCsv(InputStream body, @RequestParam(required = false) String jobId) {
+		ImportReportDTO report = service.importCsv(body, jobId);
+		return ResponseEntity.ok().body(report);
+	}
+}
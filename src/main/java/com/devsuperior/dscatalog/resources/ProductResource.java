@@ -1,10 +1,16 @@
 package com.devsuperior.dscatalog.resources;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,12 +18,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.devsuperior.dscatalog.dto.BatchItemResultDTO;
+import com.devsuperior.dscatalog.dto.BulkDeleteResultDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.projections.ProductVersionStampProjection;
 import com.devsuperior.dscatalog.services.ProductService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 @RestController
 @RequestMapping(value = "/products")
@@ -25,17 +43,61 @@ public class ProductResource {
 
 	@Autowired
 	private ProductService service;
+
+	@Autowired
+	private ObjectMapper objectMapper;
 	
+	/*
+	 * fields=name,price narrows both the response and the SELECT list to those attributes
+	 * (plus id); without it every ProductDTO field is returned.
+	 */
 	@GetMapping
-	public ResponseEntity<Page<ProductDTO>> findAll(Pageable pageable) {
-		Page<ProductDTO> list = service.findAllPaged(pageable);
+	public ResponseEntity<Page<?>> findAll(ProductFilterDTO filter,
+			@RequestParam(defaultValue = "false") Boolean facets,
+			@RequestParam(required = false) List<String> fields, Pageable pageable) {
+		if (fields != null && !fields.isEmpty()) {
+			return ResponseEntity.ok().body(service.findAllFields(fields, filter, facets, pageable));
+		}
+		Page<ProductDTO> list = filter.isEmpty() && !facets
+				? service.findAllPaged(pageable) : service.findAllFiltered(filter, facets, pageable);
 		return ResponseEntity.ok().body(list);
 	}
 
+	@GetMapping(value = "/cursor")
+	public ResponseEntity<CursorPageDTO<ProductDTO>> findAllByCursor(@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "12") Integer size) {
+		CursorPageDTO<ProductDTO> page = service.findAllByCursor(cursor, size);
+		return ResponseEntity.ok().body(page);
+	}
+
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> export() {
+		ObjectWriter writer = objectMapper.writerFor(ProductDTO.class);
+		StreamingResponseBody body = out -> service.exportAll(dto -> {
+			try {
+				out.write(writer.writeValueAsBytes(dto));
+				out.write('\n');
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
 	@GetMapping(value = "/{id}")
-	public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<?> findById(@PathVariable Long id, @RequestParam(required = false) List<String> fields,
+			WebRequest request) {
+		ProductVersionStampProjection stamp = service.findVersionStamp(id);
+		Long categoryRevision = stamp == null ? null : stamp.getCategoryRevision();
+		if (ConditionalRequests.isNotModified(request, stamp, categoryRevision)) {
+			return ConditionalRequests.notModified();
+		}
+		if (fields != null && !fields.isEmpty()) {
+			return ConditionalRequests.ok(request, service.findFieldsById(id, fields), stamp, categoryRevision);
+		}
 		ProductDTO dto = service.findById(id);
-		return ResponseEntity.ok().body(dto);
+		return ConditionalRequests.ok(request, dto, stamp, categoryRevision);
 	}
 	
 	@PostMapping
@@ -46,10 +108,27 @@ public class ProductResource {
 		return ResponseEntity.created(uri).body(dto);
 	}
 
+	@PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<List<BatchItemResultDTO>> saveAll(InputStream body) throws IOException {
+		try (MappingIterator<ProductDTO> items = objectMapper.readerFor(ProductDTO.class).readValues(body)) {
+			List<BatchItemResultDTO> results = service.saveAll(items);
+			return ResponseEntity.ok().body(results);
+		}
+	}
+
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<ProductDTO> update(@PathVariable Long id, @RequestBody ProductDTO dto) {
-		dto = service.update(id, dto);
-		return ResponseEntity.ok().body(dto);
+	public ResponseEntity<ProductDTO> update(@PathVariable Long id, @RequestBody ProductDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, WebRequest request) {
+		dto = service.update(id, dto, ConditionalRequests.expectedVersion(ifMatch));
+		// same validator as GET, which includes the revision of the embedded categories
+		ProductVersionStampProjection stamp = service.findPrimaryVersionStamp(id);
+		return ConditionalRequests.ok(request, dto, stamp, stamp == null ? null : stamp.getCategoryRevision());
+	}
+
+	@DeleteMapping(value = "/batch")
+	public ResponseEntity<BulkDeleteResultDTO> deleteAll(@RequestBody List<Long> ids) {
+		BulkDeleteResultDTO result = service.deleteAll(ids);
+		return ResponseEntity.ok().body(result);
 	}
 
 	@DeleteMapping(value = "/{id}")
@@ -0,0 +1,27 @@
+package com.devsuperior.dscatalog.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.ProductSearchService;
+
+@RestController
+@RequestMapping(value = "/products/search")
+public class ProductSearchResource {
+
+	@Autowired
+	private ProductSearchService service;
+
+	@GetMapping
+	public ResponseEntity<Page<ProductDTO>> search(@RequestParam String q, Pageable pageable) {
+		Page<ProductDTO> page = service.search(q, pageable);
+		return ResponseEntity.ok().body(page);
+	}
+}
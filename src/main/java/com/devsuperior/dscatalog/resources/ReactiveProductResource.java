@@ -0,0 +1,38 @@
+package com.devsuperior.dscatalog.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.ReactiveProductService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Served by the same Spring MVC stack: the Flux is written as NDJSON one element at a
+ * time as R2DBC emits it, and no request thread waits on the database.
+ */
+@RestController
+@RequestMapping(value = "/reactive/products")
+public class ReactiveProductResource {
+
+	@Autowired
+	private ReactiveProductService service;
+
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<ProductDTO> findAll(@RequestParam(defaultValue = "0") Integer page,
+			@RequestParam(required = false) Integer size) {
+		return size == null ? service.findAll() : service.findPage(page, size);
+	}
+
+	@GetMapping(value = "/{id}")
+	public Mono<ProductDTO> findById(@PathVariable Long id) {
+		return service.findById(id);
+	}
+}
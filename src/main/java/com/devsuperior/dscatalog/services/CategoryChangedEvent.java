@@ -0,0 +1,36 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.entities.Category;
+
+public class CategoryChangedEvent {
+
+	private final Long id;
+	private final Integer version;
+	private final boolean deleted;
+
+	private CategoryChangedEvent(Long id, Integer version, boolean deleted) {
+		this.id = id;
+		this.version = version;
+		this.deleted = deleted;
+	}
+
+	public static CategoryChangedEvent saved(Category entity) {
+		return new CategoryChangedEvent(entity.getId(), entity.getVersion(), false);
+	}
+
+	public static CategoryChangedEvent deleted(Long id) {
+		return new CategoryChangedEvent(id, null, true);
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Integer getVersion() {
+		return version;
+	}
+
+	public boolean isDeleted() {
+		return deleted;
+	}
+}
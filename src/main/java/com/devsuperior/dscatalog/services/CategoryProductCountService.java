@@ -0,0 +1,131 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.devsuperior.dscatalog.config.CacheConfig;
+import com.devsuperior.dscatalog.entities.CategoryProductCount;
+import com.devsuperior.dscatalog.projections.CategoryProductCountProjection;
+import com.devsuperior.dscatalog.repositories.CategoryProductCountRepository;
+
+/*
+ * Maintains tb_category_product_count, the number of products per category, so category
+ * reads never count tb_product_category. Product writes pass their per-category deltas to
+ * apply() inside their own transaction; reconcile() rebuilds the table from scratch and
+ * corrects any drift left by writes that bypassed the services.
+ */
+@Service
+public class CategoryProductCountService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CategoryProductCountService.class);
+
+	@Autowired
+	private CategoryProductCountRepository repository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Transactional(readOnly = true)
+	public Map<Long, Long> findCounts(Collection<Long> categoryIds) {
+		return toMap(repository.findCountsByCategoryIdIn(categoryIds));
+	}
+
+	@Transactional(readOnly = true)
+	public long findCount(Long categoryId) {
+		return findCounts(List.of(categoryId)).getOrDefault(categoryId, 0L);
+	}
+
+	/*
+	 * Rows are updated in category id order so concurrent writers lock them in the same
+	 * sequence. Cached categories carrying the old counts are evicted once the caller's
+	 * transaction commits.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void apply(Map<Long, Long> deltas) {
+		Instant now = Instant.now();
+		Map<Long, Long> changed = new TreeMap<>();
+		deltas.forEach((categoryId, delta) -> {
+			if (delta != 0) {
+				changed.put(categoryId, delta);
+			}
+		});
+		changed.forEach((categoryId, delta) -> {
+			if (repository.addToCount(categoryId, delta, now) == 0) {
+				repository.save(new CategoryProductCount(categoryId, Math.max(delta, 0L), now));
+			}
+		});
+		if (!changed.isEmpty()) {
+			evictAfterCommit(changed.keySet());
+		}
+	}
+
+	@Transactional
+	public void created(Long categoryId) {
+		repository.save(new CategoryProductCount(categoryId, 0L, Instant.now()));
+	}
+
+	@Transactional
+	public void deleted(Collection<Long> categoryIds) {
+		repository.deleteAllByCategoryIdIn(categoryIds);
+	}
+
+	// returns the number of categories whose stored count was wrong
+	@CacheEvict(cacheNames = { CacheConfig.CATEGORIES, CacheConfig.CATEGORY_PAGES }, allEntries = true)
+	@Scheduled(cron = "${dscatalog.category-counts.reconcile-cron:0 0 3 * * *}")
+	@Transactional
+	public int reconcile() {
+		Map<Long, Long> before = toMap(repository.findAllCounts());
+		repository.deleteAllInBatch();
+		repository.insertFromProductCategories();
+		int drifted = 0;
+		for (CategoryProductCountProjection row : repository.findAllCounts()) {
+			if (!row.getProductCount().equals(before.remove(row.getCategoryId()))) {
+				drifted++;
+			}
+		}
+		drifted += before.size();
+		if (drifted > 0) {
+			LOG.warn("Category product counts reconciled, {} categories corrected", drifted);
+		}
+		return drifted;
+	}
+
+	private static Map<Long, Long> toMap(List<CategoryProductCountProjection> rows) {
+		return rows.stream().collect(Collectors.toMap(CategoryProductCountProjection::getCategoryId,
+				CategoryProductCountProjection::getProductCount));
+	}
+
+	private void evictAfterCommit(Set<Long> categoryIds) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				Cache categories = cacheManager.getCache(CacheConfig.CATEGORIES);
+				Cache pages = cacheManager.getCache(CacheConfig.CATEGORY_PAGES);
+				if (categories != null) {
+					categoryIds.forEach(categories::evict);
+				}
+				if (pages != null) {
+					pages.clear();
+				}
+			}
+		});
+	}
+}
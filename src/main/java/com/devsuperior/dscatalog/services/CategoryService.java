@@ -1,73 +1,175 @@
 package com.devsuperior.dscatalog.services;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.devsuperior.dscatalog.config.CacheConfig;
+import com.devsuperior.dscatalog.dto.BulkDeleteResultDTO;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
 import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.projections.CategoryVersionStampProjection;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.exceptions.VersionConflictException;
 
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
+@Observed(name = "dscatalog.service")
 public class CategoryService {
 
 	@Autowired
 	private CategoryRepository repository;
+
+	@Autowired
+	private CategoryProductCountService productCounts;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Value("${dscatalog.batch.chunk-size:1000}")
+	private int batchChunkSize;
 	
+	@Cacheable(cacheNames = CacheConfig.CATEGORY_PAGES)
 	@Transactional(readOnly = true)
 	public Page<CategoryDTO> findAllPaged(Pageable pageable) {
 		Page<Category> list = repository.findAll(pageable);
-		return list.map(CategoryDTO::new);
+		Map<Long, Long> counts = productCounts.findCounts(list.map(Category::getId).getContent());
+		return list.map(entity -> new CategoryDTO(entity, counts.getOrDefault(entity.getId(), 0L)));
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDTO<CategoryDTO> findAllByCursor(String cursor, int size) {
+		PageLimits.checkPageSize(size);
+		Long afterId = cursor == null ? 0L : KeysetCursor.decode(cursor).getId();
+		List<Category> rows = repository.findAfter(afterId, PageRequest.ofSize(size + 1));
+		Map<Long, Long> counts = productCounts.findCounts(rows.stream().map(Category::getId).toList());
+		List<CategoryDTO> dtos = rows.stream()
+				.map(entity -> new CategoryDTO(entity, counts.getOrDefault(entity.getId(), 0L))).toList();
+		return CursorPageDTO.of(dtos, size, last -> KeysetCursor.encode(last.getId()));
 	}
 
+	@Cacheable(cacheNames = CacheConfig.CATEGORIES)
 	@Transactional(readOnly = true)
 	public CategoryDTO findById(Long id) {
 		Optional<Category> obj = repository.findById(id);
 		Category entity = obj.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
-		return new CategoryDTO(entity);
+		return new CategoryDTO(entity, productCounts.findCount(id));
+	}
+
+	// null when the category does not exist
+	@Transactional(readOnly = true)
+	public CategoryVersionStampProjection findVersionStamp(Long id) {
+		return repository.findVersionStampById(id);
 	}
 
+	@CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true)
 	@Transactional
 	public CategoryDTO insert(CategoryDTO dto) {
 		Category entity = new Category();
 		entity.setName(dto.getName());
 		entity = repository.save(entity);
-		return new CategoryDTO(entity);
+		productCounts.created(entity.getId());
+		eventPublisher.publishEvent(CategoryChangedEvent.saved(entity));
+		return new CategoryDTO(entity, 0L);
 	}
 
+	@Caching(evict = {
+		@CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+		@CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true)
+	})
 	@Transactional
 	public CategoryDTO update(Long id, CategoryDTO dto) {
+		return update(id, dto, null);
+	}
+
+	@Caching(evict = {
+		@CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+		@CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true)
+	})
+	@Transactional
+	public CategoryDTO update(Long id, CategoryDTO dto, Integer expectedVersion) {
 		try {
 			Category entity = repository.getReferenceById(id);
+			if (expectedVersion != null && !expectedVersion.equals(entity.getVersion())) {
+				throw new VersionConflictException(
+						"Version " + expectedVersion + " is out of date, current is " + entity.getVersion());
+			}
 			entity.setName(dto.getName());
-			entity = repository.save(entity);
-			return new CategoryDTO(entity);
+			entity = repository.saveAndFlush(entity);
+			eventPublisher.publishEvent(CategoryChangedEvent.saved(entity));
+			return new CategoryDTO(entity, productCounts.findCount(id));
 		}
 		catch (EntityNotFoundException e) {
 			throw new ResourceNotFoundException("Id not found " + id);
 		}		
 	}
 
-	@Transactional(propagation = Propagation.SUPPORTS)
+	@Caching(evict = {
+		@CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+		@CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true)
+	})
+	@Transactional
 	public void delete(Long id) {
-		if (!repository.existsById(id)) {
-			throw new ResourceNotFoundException("Id not found " + id);
-		}
+		int deleted;
 		try {
-			repository.deleteById(id);
+			deleted = repository.deleteByIdReturningCount(id);
 		}
 		catch (DataIntegrityViolationException e) {
 			throw new DatabaseException("Integrity violation");
 		}
+		if (deleted == 0) {
+			throw new ResourceNotFoundException("Id not found " + id);
+		}
+		productCounts.deleted(List.of(id));
+		eventPublisher.publishEvent(CategoryChangedEvent.deleted(id));
+	}
+
+	// chunks of dscatalog.batch.chunk-size ids, each committed on its own
+	@CacheEvict(cacheNames = { CacheConfig.CATEGORIES, CacheConfig.CATEGORY_PAGES }, allEntries = true)
+	public BulkDeleteResultDTO deleteAll(List<Long> ids) {
+		List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+		long deleted = 0;
+		for (int from = 0; from < distinct.size(); from += batchChunkSize) {
+			List<Long> chunk = distinct.subList(from, Math.min(from + batchChunkSize, distinct.size()));
+			try {
+				deleted += transactionTemplate.execute(status -> {
+					List<Long> existing = repository.findExistingIds(chunk);
+					if (existing.isEmpty()) {
+						return 0;
+					}
+					int count = repository.deleteAllByIdReturningCount(existing);
+					productCounts.deleted(existing);
+					existing.forEach(id -> eventPublisher.publishEvent(CategoryChangedEvent.deleted(id)));
+					return count;
+				});
+			}
+			catch (DataIntegrityViolationException e) {
+				throw new DatabaseException("Integrity violation after deleting " + deleted + " categories");
+			}
+		}
+		return new BulkDeleteResultDTO(ids.size(), deleted);
 	}
 }
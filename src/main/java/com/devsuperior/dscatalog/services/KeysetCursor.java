@@ -0,0 +1,66 @@
+package com.devsuperior.dscatalog.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+
+/*
+ * Opaque position of the last row a page returned: "id" for id-ordered pages, "id|name"
+ * for (name, id)-ordered ones, and "id!" when that row's name was null, so a nameless row
+ * still yields a cursor the next request accepts.
+ */
+final class KeysetCursor {
+
+	private final Long id;
+	private final String name;
+	private final boolean named;
+
+	private KeysetCursor(Long id, String name, boolean named) {
+		this.id = id;
+		this.name = name;
+		this.named = named;
+	}
+
+	Long getId() {
+		return id;
+	}
+
+	// null both for id-only cursors and for rows without a name, see hasNameKey
+	String getName() {
+		return name;
+	}
+
+	boolean hasNameKey() {
+		return named;
+	}
+
+	static String encode(Long id) {
+		return encodeRaw(id.toString());
+	}
+
+	static String encode(Long id, String name) {
+		return encodeRaw(name == null ? id + "!" : id + "|" + name);
+	}
+
+	static KeysetCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf('|');
+			if (separator >= 0) {
+				return new KeysetCursor(Long.valueOf(raw.substring(0, separator)), raw.substring(separator + 1), true);
+			}
+			if (raw.endsWith("!")) {
+				return new KeysetCursor(Long.valueOf(raw.substring(0, raw.length() - 1)), null, true);
+			}
+			return new KeysetCursor(Long.valueOf(raw), null, false);
+		}
+		catch (IllegalArgumentException e) {
+			throw new InvalidRequestException("Invalid cursor");
+		}
+	}
+
+	private static String encodeRaw(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,114 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscatalog.dto.ChangeEventDTO;
+import com.devsuperior.dscatalog.entities.OutboxEvent;
+import com.devsuperior.dscatalog.entities.OutboxOffset;
+import com.devsuperior.dscatalog.repositories.OutboxEventRepository;
+import com.devsuperior.dscatalog.repositories.OutboxOffsetRepository;
+
+/*
+ * Delivers the outbox to every OutboxListener in batches of dscatalog.outbox.batch-size,
+ * each listener from its own stored offset. The offset only moves after onEvents returns,
+ * so delivery is at-least-once. Event ids are drawn when a transaction records its change,
+ * not when it commits, so a higher id can become visible before a lower one; a batch stops
+ * at the first missing id until that gap is older than dscatalog.outbox.gap-timeout-ms, by
+ * which time the transaction holding it is taken to have rolled back.
+ */
+@Service
+public class OutboxDispatcher {
+
+	private static final Logger LOG = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+	@Autowired
+	private OutboxEventRepository eventRepository;
+
+	@Autowired
+	private OutboxOffsetRepository offsetRepository;
+
+	@Autowired
+	private ObjectProvider<OutboxListener> listeners;
+
+	@Value("${dscatalog.outbox.batch-size:500}")
+	private int batchSize;
+
+	@Value("${dscatalog.outbox.gap-timeout-ms:60000}")
+	private long gapTimeoutMillis;
+
+	@Value("${dscatalog.outbox.retention-hours:24}")
+	private long retentionHours;
+
+	@Scheduled(fixedDelayString = "${dscatalog.outbox.poll-interval-ms:500}")
+	public synchronized void dispatch() {
+		listeners.orderedStream().forEach(this::dispatchTo);
+	}
+
+	// removes events every listener has acknowledged once they are older than the retention
+	@Scheduled(cron = "${dscatalog.outbox.purge-cron:0 15 * * * *}")
+	@Transactional
+	public void purge() {
+		long acknowledged = listeners.orderedStream().mapToLong(this::offsetOf).min().orElse(Long.MAX_VALUE);
+		int purged = eventRepository.deleteDelivered(acknowledged, Instant.now().minus(retentionHours, ChronoUnit.HOURS));
+		if (purged > 0) {
+			LOG.info("Purged {} delivered outbox events", purged);
+		}
+	}
+
+	private void dispatchTo(OutboxListener listener) {
+		long offset = offsetOf(listener);
+		while (true) {
+			List<OutboxEvent> found = eventRepository.findBatch(offset, PageRequest.ofSize(batchSize));
+			List<ChangeEventDTO> batch = contiguous(offset, found, Instant.now().minusMillis(gapTimeoutMillis));
+			if (batch.isEmpty()) {
+				return;
+			}
+			try {
+				listener.onEvents(batch);
+			}
+			catch (RuntimeException e) {
+				LOG.warn("Outbox listener {} failed after offset {}, retrying on next poll", listener.getName(), offset, e);
+				return;
+			}
+			offset = batch.get(batch.size() - 1).getOffset();
+			offsetRepository.save(new OutboxOffset(listener.getName(), offset, Instant.now()));
+			if (batch.size() < batchSize) {
+				return;
+			}
+		}
+	}
+
+	// the leading run of events with no missing id after offset, gaps older than abandonedBefore excepted
+	private static List<ChangeEventDTO> contiguous(long offset, List<OutboxEvent> events, Instant abandonedBefore) {
+		List<ChangeEventDTO> batch = new ArrayList<>();
+		long expected = offset + 1;
+		for (OutboxEvent event : events) {
+			if (event.getId() != expected) {
+				if (event.getCreatedAt().isAfter(abandonedBefore)) {
+					break;
+				}
+				LOG.debug("Skipping abandoned outbox ids {} to {}", expected, event.getId() - 1);
+			}
+			batch.add(new ChangeEventDTO(event));
+			expected = event.getId() + 1;
+		}
+		return batch;
+	}
+
+	private long offsetOf(OutboxListener listener) {
+		return offsetRepository.findById(listener.getName()).map(OutboxOffset::getLastEventId).orElse(0L);
+	}
+}
@@ -0,0 +1,20 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.List;
+
+import com.devsuperior.dscatalog.dto.ChangeEventDTO;
+
+/*
+ * In-process consumer of the change outbox, picked up by OutboxDispatcher as a bean.
+ * Batches arrive in offset order; returning normally acknowledges the whole batch, while
+ * throwing makes the dispatcher deliver it again on the next poll, so implementations
+ * must tolerate repeats. Events carry ids and versions only, current state is read
+ * through the services.
+ */
+public interface OutboxListener {
+
+	// key of the stored offset; a new name starts from the oldest retained event
+	String getName();
+
+	void onEvents(List<ChangeEventDTO> events);
+}
@@ -0,0 +1,35 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscatalog.entities.OutboxEvent;
+import com.devsuperior.dscatalog.repositories.OutboxEventRepository;
+
+/*
+ * Turns product and category change events into tb_outbox_event rows. BEFORE_COMMIT runs
+ * inside the writing transaction ahead of its final flush, so each row commits or rolls
+ * back together with the change it describes, and ids are drawn as close to commit as possible.
+ */
+@Service
+public class OutboxRecorder {
+
+	@Autowired
+	private OutboxEventRepository repository;
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void onProductChanged(ProductChangedEvent event) {
+		repository.save(new OutboxEvent(OutboxEvent.PRODUCT, event.getId(), event.getVersion(), event.isDeleted(),
+				Instant.now()));
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void onCategoryChanged(CategoryChangedEvent event) {
+		repository.save(new OutboxEvent(OutboxEvent.CATEGORY, event.getId(), event.getVersion(), event.isDeleted(),
+				Instant.now()));
+	}
+}
@@ -0,0 +1,27 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+
+/*
+ * Bounds shared by every paged read, whether offset, cursor or search based, so a client
+ * cannot ask one endpoint for more rows than another would return.
+ */
+final class PageLimits {
+
+	static final int MAX_PAGE_SIZE = 1000;
+
+	private PageLimits() {
+	}
+
+	static void checkPageSize(int size) {
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new InvalidRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+	}
+
+	static void checkPage(int page) {
+		if (page < 0) {
+			throw new InvalidRequestException("Page must not be negative");
+		}
+	}
+}
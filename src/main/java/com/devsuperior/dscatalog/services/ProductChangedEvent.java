@@ -0,0 +1,48 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.entities.Product;
+
+public class ProductChangedEvent {
+
+	private final Long id;
+	private final String name;
+	private final String description;
+	private final Integer version;
+	private final boolean deleted;
+
+	private ProductChangedEvent(Long id, String name, String description, Integer version, boolean deleted) {
+		this.id = id;
+		this.name = name;
+		this.description = description;
+		this.version = version;
+		this.deleted = deleted;
+	}
+
+	public static ProductChangedEvent saved(Product entity) {
+		return new ProductChangedEvent(entity.getId(), entity.getName(), entity.getDescription(), entity.getVersion(), false);
+	}
+
+	public static ProductChangedEvent deleted(Long id) {
+		return new ProductChangedEvent(id, null, null, null, true);
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public Integer getVersion() {
+		return version;
+	}
+
+	public boolean isDeleted() {
+		return deleted;
+	}
+}
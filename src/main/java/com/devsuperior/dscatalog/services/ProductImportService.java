@@ -0,0 +1,232 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsuperior.dscatalog.dto.BatchItemResultDTO;
+import com.devsuperior.dscatalog.dto.ImportReportDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.ImportCheckpoint;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ImportCheckpointRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * The request thread parses the file and hands chunks to a single writer task, run on the
+ * shared application task executor, through a bounded queue, so parsing blocks when the
+ * writer falls behind. Each chunk commits
+ * together with the job checkpoint (the last row number it covers); running the same
+ * jobId again skips every row up to that checkpoint. The report is only finished once
+ * the writer has stopped, so an aborted import never returns while a chunk is still
+ * being written into it.
+ */
+@Service
+public class ProductImportService {
+
+	private static final List<Row> END = List.of();
+
+	private record Row(long number, ProductDTO product, String error) {
+	}
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ImportCheckpointRepository checkpointRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	private AsyncTaskExecutor taskExecutor;
+
+	@Value("${dscatalog.import.chunk-size:1000}")
+	private int chunkSize;
+
+	@Value("${dscatalog.import.max-in-flight-chunks:4}")
+	private int maxInFlightChunks;
+
+	public ImportReportDTO importNdjson(InputStream in, String jobId) {
+		return run(in, jobId, false);
+	}
+
+	public ImportReportDTO importCsv(InputStream in, String jobId) {
+		return run(in, jobId, true);
+	}
+
+	private ImportReportDTO run(InputStream in, String jobId, boolean csv) {
+		String job = jobId != null ? jobId : UUID.randomUUID().toString();
+		long resumeAfter = checkpointRepository.findById(job).map(ImportCheckpoint::getCommittedRows).orElse(0L);
+		Set<Long> categoryIds = new HashSet<>(categoryRepository.findAllIds());
+		ImportReportDTO report = new ImportReportDTO(job, resumeAfter);
+
+		long start = System.nanoTime();
+		BlockingQueue<List<Row>> queue = new ArrayBlockingQueue<>(maxInFlightChunks);
+		AtomicBoolean started = new AtomicBoolean();
+		CountDownLatch stopped = new CountDownLatch(1);
+		Future<?> writer;
+		try {
+			writer = taskExecutor.submit(() -> {
+				if (!started.compareAndSet(false, true)) {
+					return null;
+				}
+				try {
+					write(queue, report, categoryIds, job);
+				}
+				finally {
+					stopped.countDown();
+				}
+				return null;
+			});
+		}
+		catch (TaskRejectedException e) {
+			report.abort("No import writer available, retry later");
+			report.finish(System.nanoTime() - start);
+			return report;
+		}
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			ProductRowParser parser = csv ? ProductRowParser.csv(reader.readLine()) : ProductRowParser.ndjson(objectMapper);
+			long number = 0;
+			List<Row> chunk = new ArrayList<>(chunkSize);
+			String line;
+			while (!writer.isDone() && (line = reader.readLine()) != null) {
+				if (line.isBlank() || ++number <= resumeAfter) {
+					continue;
+				}
+				report.rowRead();
+				chunk.add(parse(parser, number, line));
+				if (chunk.size() == chunkSize) {
+					hand(queue, chunk, writer);
+					chunk = new ArrayList<>(chunkSize);
+				}
+			}
+			if (!chunk.isEmpty()) {
+				hand(queue, chunk, writer);
+			}
+			hand(queue, END, writer);
+			writer.get();
+			report.complete();
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			report.abort(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName());
+		}
+		catch (IOException e) {
+			report.abort("Unreadable input: " + e.getMessage());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			report.abort("Interrupted");
+		}
+		finally {
+			writer.cancel(true);
+			// a writer that has not started yet never will; a running one finishes its chunk first
+			if (!started.compareAndSet(false, true)) {
+				awaitUninterruptibly(stopped);
+			}
+			report.finish(System.nanoTime() - start);
+		}
+		return report;
+	}
+
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		boolean interrupted = Thread.interrupted();
+		while (true) {
+			try {
+				latch.await();
+				break;
+			}
+			catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private Row parse(ProductRowParser parser, long number, String line) {
+		try {
+			return new Row(number, parser.parse(line), null);
+		}
+		catch (IllegalArgumentException e) {
+			return new Row(number, null, "Unreadable row: " + e.getMessage());
+		}
+	}
+
+	private void hand(BlockingQueue<List<Row>> queue, List<Row> chunk, Future<?> writer) throws InterruptedException {
+		while (!writer.isDone()) {
+			if (queue.offer(chunk, 1, TimeUnit.SECONDS)) {
+				return;
+			}
+		}
+	}
+
+	private void write(BlockingQueue<List<Row>> queue, ImportReportDTO report, Set<Long> categoryIds, String job)
+			throws InterruptedException {
+		while (true) {
+			List<Row> chunk = queue.take();
+			if (chunk == END) {
+				return;
+			}
+			List<Row> valid = chunk.stream().filter(row -> row.error() == null).toList();
+			List<ProductDTO> products = valid.stream().map(Row::product).toList();
+			long lastRow = chunk.get(chunk.size() - 1).number();
+
+			List<BatchItemResultDTO> results = transactionTemplate.execute(status -> {
+				List<BatchItemResultDTO> written = products.isEmpty()
+						? List.of() : productService.saveChunk(products, 0, categoryIds);
+				checkpointRepository.save(new ImportCheckpoint(job, lastRow, Instant.now()));
+				return written;
+			});
+
+			report.committedUpTo(lastRow);
+			for (Row row : chunk) {
+				if (row.error() != null) {
+					report.rowFailed(row.number(), null, row.error());
+				}
+			}
+			for (int i = 0; i < results.size(); i++) {
+				BatchItemResultDTO result = results.get(i);
+				if (result.getStatus() == BatchItemResultDTO.Status.FAILED) {
+					report.rowFailed(valid.get(i).number(), result.getId(), result.getMessage());
+				}
+				else {
+					report.rowImported();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Turns one line of an import file into a ProductDTO. A malformed line throws
+ * IllegalArgumentException, which the import records against that row only.
+ */
+@FunctionalInterface
+interface ProductRowParser {
+
+	ProductDTO parse(String line);
+
+	static ProductRowParser ndjson(ObjectMapper objectMapper) {
+		return line -> {
+			try {
+				return objectMapper.readValue(line, ProductDTO.class);
+			}
+			catch (JsonProcessingException e) {
+				throw new IllegalArgumentException(e.getOriginalMessage());
+			}
+		};
+	}
+
+	/*
+	 * Columns are matched by the header names id, name, description, price, imgUrl, date
+	 * and categoryIds (separated by ';'). Quoted fields may contain commas and "" escapes
+	 * but not line breaks.
+	 */
+	static ProductRowParser csv(String header) {
+		if (header == null) {
+			throw new InvalidRequestException("Missing CSV header");
+		}
+		Map<String, Integer> columns = new HashMap<>();
+		List<String> names = splitCsv(header);
+		for (int i = 0; i < names.size(); i++) {
+			columns.put(names.get(i).trim(), i);
+		}
+		if (!columns.containsKey("name")) {
+			throw new InvalidRequestException("CSV header must contain a name column");
+		}
+		return line -> {
+			List<String> fields = splitCsv(line);
+			ProductDTO dto = new ProductDTO();
+			try {
+				String id = field(fields, columns, "id");
+				dto.setId(id == null ? null : Long.valueOf(id));
+				dto.setName(field(fields, columns, "name"));
+				dto.setDescription(field(fields, columns, "description"));
+				String price = field(fields, columns, "price");
+				dto.setPrice(price == null ? null : Double.valueOf(price));
+				dto.setImgUrl(field(fields, columns, "imgUrl"));
+				String date = field(fields, columns, "date");
+				dto.setDate(date == null ? null : Instant.parse(date));
+				String categoryIds = field(fields, columns, "categoryIds");
+				if (categoryIds != null) {
+					for (String categoryId : categoryIds.split(";")) {
+						dto.getCategories().add(new CategoryDTO(Long.valueOf(categoryId.trim()), null));
+					}
+				}
+			}
+			catch (DateTimeParseException e) {
+				throw new IllegalArgumentException("Invalid date: " + e.getParsedString());
+			}
+			return dto;
+		};
+	}
+
+	private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+		Integer index = columns.get(name);
+		if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+			return null;
+		}
+		return fields.get(index);
+	}
+
+	private static List<String> splitCsv(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder current = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					current.append('"');
+					i++;
+				}
+				else if (c == '"') {
+					quoted = false;
+				}
+				else {
+					current.append(c);
+				}
+			}
+			else if (c == '"') {
+				quoted = true;
+			}
+			else if (c == ',') {
+				fields.add(current.toString());
+				current.setLength(0);
+			}
+			else {
+				current.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("Unterminated quoted field");
+		}
+		fields.add(current.toString());
+		return fields;
+	}
+}
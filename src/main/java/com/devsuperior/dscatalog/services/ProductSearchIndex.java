@@ -0,0 +1,198 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Lucene index over product name and description. Writes go through a single
+ * IndexWriter and a background thread reopens the near-real-time searcher at most
+ * dscatalog.search.max-stale-ms after a change, so bulk writes do not pay for a reopen
+ * each. The index is committed on rebuild and on shutdown and kept in memory unless
+ * dscatalog.search.index-dir is set. Matches are counted in the same pass that ranks
+ * them, exactly up to dscatalog.search.total-hits-threshold; above it the reported total
+ * is a lower bound and Lucene may skip non-competitive documents.
+ */
+@Component
+public class ProductSearchIndex {
+
+	private static final String ID = "id";
+	private static final String NAME = "name";
+	private static final String DESCRIPTION = "description";
+
+	public record Hits(List<Long> ids, long total) {
+	}
+
+	public interface Loader {
+		void add(Long id, String name, String description);
+	}
+
+	public interface Source {
+		void load(Loader loader);
+	}
+
+	@Value("${dscatalog.search.index-dir:}")
+	private String indexDir;
+
+	@Value("${dscatalog.search.max-stale-ms:1000}")
+	private long maxStaleMillis;
+
+	@Value("${dscatalog.search.total-hits-threshold:10000}")
+	private int totalHitsThreshold;
+
+	private Directory directory;
+	private Analyzer analyzer;
+	private IndexWriter writer;
+	private SearcherManager searcherManager;
+	private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+	@PostConstruct
+	public void open() throws IOException {
+		directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+		analyzer = new StandardAnalyzer();
+		writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+		searcherManager = new SearcherManager(writer, null);
+		reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, maxStaleMillis / 1000.0, 0.0);
+		reopenThread.setName("product-search-reopen");
+		reopenThread.setDaemon(true);
+		reopenThread.start();
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		reopenThread.close();
+		searcherManager.close();
+		writer.commit();
+		writer.close();
+		directory.close();
+	}
+
+	public void index(Long id, String name, String description) {
+		try {
+			writer.updateDocument(new Term(ID, id.toString()), document(id, name, description));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public void delete(Long id) {
+		try {
+			writer.deleteDocuments(new Term(ID, id.toString()));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public void rebuild(Source source) {
+		try {
+			writer.deleteAll();
+			source.load((id, name, description) -> {
+				try {
+					writer.addDocument(document(id, name, description));
+				}
+				catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			writer.commit();
+			searcherManager.maybeRefreshBlocking();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// the hit queue is sized to the page end and Lucene allocates it up front, so it is capped at maxDoc
+	public Hits search(String text, long offset, int limit) {
+		Query query = parse(text);
+		try {
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				int maxDoc = searcher.getIndexReader().maxDoc();
+				if (offset >= maxDoc) {
+					return new Hits(List.of(), searcher.count(query));
+				}
+				int numHits = (int) Math.min(offset + limit, maxDoc);
+				TopDocs top = searcher.search(query,
+						TopScoreDocCollector.createSharedManager(numHits, null, totalHitsThreshold));
+				List<Long> ids = new ArrayList<>(limit);
+				for (int i = (int) offset; i < top.scoreDocs.length; i++) {
+					ScoreDoc hit = top.scoreDocs[i];
+					ids.add(searcher.storedFields().document(hit.doc).getField(ID).numericValue().longValue());
+				}
+				return new Hits(ids, top.totalHits.value);
+			}
+			finally {
+				searcherManager.release(searcher);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private Query parse(String text) {
+		if (text == null || text.isBlank()) {
+			throw new InvalidRequestException("Search text is required");
+		}
+		MultiFieldQueryParser parser = new MultiFieldQueryParser(new String[] { NAME, DESCRIPTION }, analyzer,
+				Map.of(NAME, 2f, DESCRIPTION, 1f));
+		parser.setDefaultOperator(QueryParser.Operator.AND);
+		try {
+			return parser.parse(text);
+		}
+		catch (ParseException e) {
+			try {
+				return parser.parse(QueryParser.escape(text));
+			}
+			catch (ParseException escaped) {
+				throw new InvalidRequestException("Invalid search text");
+			}
+		}
+	}
+
+	private Document document(Long id, String name, String description) {
+		Document doc = new Document();
+		doc.add(new StringField(ID, id.toString(), Field.Store.NO));
+		doc.add(new StoredField(ID, id));
+		doc.add(new TextField(NAME, name == null ? "" : name, Field.Store.NO));
+		doc.add(new TextField(DESCRIPTION, description == null ? "" : description, Field.Store.NO));
+		return doc;
+	}
+}
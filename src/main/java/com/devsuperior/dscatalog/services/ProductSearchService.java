@@ -0,0 +1,59 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+@Service
+public class ProductSearchService {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductSearchIndex index;
+
+	@Value("${dscatalog.search.rebuild-on-startup:true}")
+	private boolean rebuildOnStartup;
+
+	public Page<ProductDTO> search(String text, Pageable pageable) {
+		PageLimits.checkPage(pageable.getPageNumber());
+		PageLimits.checkPageSize(pageable.getPageSize());
+		ProductSearchIndex.Hits hits = index.search(text, pageable.getOffset(), pageable.getPageSize());
+		List<ProductDTO> content = productService.findAllByIds(hits.ids());
+		return new PageImpl<>(content, pageable, hits.total());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuildOnStartup() {
+		if (rebuildOnStartup) {
+			rebuild();
+		}
+	}
+
+	public void rebuild() {
+		index.rebuild(loader -> productService.exportAll(
+				dto -> loader.add(dto.getId(), dto.getName(), dto.getDescription())));
+	}
+
+	// runs after commit, so a rolled back write never reaches the index
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		if (event.isDeleted()) {
+			index.delete(event.getId());
+		}
+		else {
+			index.index(event.getId(), event.getName(), event.getDescription());
+		}
+	}
+}
@@ -1,62 +1,263 @@
 package com.devsuperior.dscatalog.services;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.devsuperior.dscatalog.config.StreamingReads;
+import com.devsuperior.dscatalog.dto.BatchItemResultDTO;
+import com.devsuperior.dscatalog.dto.BulkDeleteResultDTO;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.dto.FacetedPageDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.projections.ProductCategoryProjection;
+import com.devsuperior.dscatalog.projections.ProductVersionStampProjection;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.exceptions.VersionConflictException;
 
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 
 @Service
+@Observed(name = "dscatalog.service")
 public class ProductService {
 
+	private static final int EXPORT_WINDOW = 500;
+	private static final List<String> FIELDS = List.of("id", "name", "description", "price", "imgUrl", "date",
+			"version", "categories");
+
 	@Autowired
 	private ProductRepository repository;
 	
 	@Autowired
 	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private CategoryProductCountService categoryProductCounts;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${spring.jpa.properties.hibernate.cache.use_second_level_cache:false}")
+	private boolean secondLevelCache;
+
+	@Value("${dscatalog.batch.chunk-size:1000}")
+	private int batchChunkSize;
 	
 	@Transactional(readOnly = true)
 	public Page<ProductDTO> findAllPaged(Pageable pageable) {
-		Page<Product> list = repository.findAll(pageable);
-		return list.map(ProductDTO::new);
+		Page<ProductDTO> page = repository.findAllSummaries(pageable);
+		attachCategories(page.getContent());
+		return page;
+	}
+
+	/*
+	 * Products having any of the given categories within the price and date ranges. The
+	 * facet counts ignore the category filter itself so that every category stays
+	 * selectable, and come from a single GROUP BY over the join table.
+	 */
+	@Transactional(readOnly = true)
+	public Page<ProductDTO> findAllFiltered(ProductFilterDTO filter, boolean facets, Pageable pageable) {
+		checkRange(filter.getMinPrice(), filter.getMaxPrice(), "price");
+		checkRange(filter.getMinDate(), filter.getMaxDate(), "date");
+		Page<ProductDTO> page = repository.findFilteredSummaries(filter, pageable);
+		attachCategories(page.getContent());
+		if (!facets) {
+			return page;
+		}
+		List<CategoryFacetDTO> counts = repository.countByCategory(filter);
+		return new FacetedPageDTO<>(page.getContent(), pageable, page.getTotalElements(), counts);
+	}
+
+	/*
+	 * Sparse fieldset variant of findAllFiltered: only the requested columns are selected
+	 * and returned, id always included. categories costs one IN-list query for the page.
+	 */
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> findAllFields(List<String> fields, ProductFilterDTO filter, boolean facets,
+			Pageable pageable) {
+		checkRange(filter.getMinPrice(), filter.getMaxPrice(), "price");
+		checkRange(filter.getMinDate(), filter.getMaxDate(), "date");
+		Page<Map<String, Object>> page = repository.findFields(columns(fields), filter, pageable);
+		if (fields.contains("categories")) {
+			attachCategoryFields(page.getContent());
+		}
+		if (!facets) {
+			return page;
+		}
+		List<CategoryFacetDTO> counts = repository.countByCategory(filter);
+		return new FacetedPageDTO<>(page.getContent(), pageable, page.getTotalElements(), counts);
+	}
+
+	@Transactional(readOnly = true)
+	public Map<String, Object> findFieldsById(Long id, List<String> fields) {
+		Map<String, Object> row = repository.findFieldsById(columns(fields), id)
+				.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+		if (fields.contains("categories")) {
+			attachCategoryFields(List.of(row));
+		}
+		return row;
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDTO<ProductDTO> findAllByCursor(String cursor, int size) {
+		PageLimits.checkPageSize(size);
+		Pageable limit = PageRequest.ofSize(size + 1);
+		List<ProductDTO> rows;
+		if (cursor == null) {
+			rows = repository.findFirstSummaries(limit);
+		}
+		else {
+			KeysetCursor after = KeysetCursor.decode(cursor);
+			if (!after.hasNameKey()) {
+				throw new InvalidRequestException("Invalid cursor");
+			}
+			if (after.getName() == null) {
+				rows = repository.findNamelessSummariesAfter(after.getId(), limit);
+			}
+			else {
+				rows = repository.findSummariesAfter(after.getName(), after.getId(), limit);
+				if (rows.size() <= size) {
+					// named rows ran out, the page continues with the nameless tail
+					rows = new ArrayList<>(rows);
+					rows.addAll(repository.findNamelessSummariesAfter(0L, PageRequest.ofSize(size + 1 - rows.size())));
+				}
+			}
+		}
+		CursorPageDTO<ProductDTO> page = CursorPageDTO.of(rows, size,
+				last -> KeysetCursor.encode(last.getId(), last.getName()));
+		attachCategories(page.getContent());
+		return page;
+	}
+
+	/*
+	 * Streams every product through a forward-only cursor. Categories are fetched for
+	 * each window of EXPORT_WINDOW rows, so memory use does not depend on catalog size.
+	 * The connection comes from the export pool, it is held as long as the sink keeps up.
+	 */
+	@Transactional(readOnly = true)
+	public void exportAll(Consumer<ProductDTO> sink) {
+		StreamingReads.run(() -> {
+			try (Stream<ProductDTO> rows = repository.streamAll()) {
+				List<ProductDTO> window = new ArrayList<>(EXPORT_WINDOW);
+				Iterator<ProductDTO> it = rows.iterator();
+				while (it.hasNext()) {
+					window.add(it.next());
+					if (window.size() == EXPORT_WINDOW) {
+						writeWindow(window, sink);
+					}
+				}
+				writeWindow(window, sink);
+			}
+		});
 	}
 
 	@Transactional(readOnly = true)
 	public ProductDTO findById(Long id) {
-		Optional<Product> obj = repository.findById(id);
+		// the entity graph query bypasses the second-level cache, em.find and the cached collection do not
+		Optional<Product> obj = secondLevelCache ? repository.findById(id) : repository.findWithCategoriesById(id);
 		Product entity = obj.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
 		return new ProductDTO(entity, entity.getCategories());
 	}
 
+	// null when the product does not exist
+	@Transactional(readOnly = true)
+	public ProductVersionStampProjection findVersionStamp(Long id) {
+		return repository.findVersionStampById(id);
+	}
+
+	// read-write, so a read replica that has not caught up with a just committed write is not consulted
+	@Transactional
+	public ProductVersionStampProjection findPrimaryVersionStamp(Long id) {
+		return repository.findVersionStampById(id);
+	}
+
+	@Transactional(readOnly = true)
+	public List<ProductDTO> findAllByIds(List<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, Product> byId = repository.findWithCategoriesByIdIn(ids).stream()
+				.collect(Collectors.toMap(Product::getId, Function.identity()));
+		return ids.stream().map(byId::get).filter(Objects::nonNull)
+				.map(entity -> new ProductDTO(entity, entity.getCategories())).toList();
+	}
+
 	@Transactional
 	public ProductDTO insert(ProductDTO dto) {
 		Product entity = new Product();
 		copyDtoToEntity(dto, entity);
 		entity = repository.save(entity);
+		Map<Long, Long> deltas = new HashMap<>();
+		addCategoryDeltas(deltas, entity.getCategories(), 1);
+		categoryProductCounts.apply(deltas);
+		eventPublisher.publishEvent(ProductChangedEvent.saved(entity));
 		return new ProductDTO(entity);
 	}
 
 	@Transactional
 	public ProductDTO update(Long id, ProductDTO dto) {
+		return update(id, dto, null);
+	}
+
+	/*
+	 * expectedVersion comes from If-Match; null skips the check. A concurrent update
+	 * between load and flush still fails through @Version.
+	 */
+	@Transactional
+	public ProductDTO update(Long id, ProductDTO dto, Integer expectedVersion) {
 		try {
 			Product entity = repository.getReferenceById(id);
+			checkVersion(expectedVersion, entity.getVersion());
+			Map<Long, Long> deltas = new HashMap<>();
+			addCategoryDeltas(deltas, entity.getCategories(), -1);
 			copyDtoToEntity(dto, entity);
-			entity = repository.save(entity);
+			addCategoryDeltas(deltas, entity.getCategories(), 1);
+			entity = repository.saveAndFlush(entity);
+			categoryProductCounts.apply(deltas);
+			eventPublisher.publishEvent(ProductChangedEvent.saved(entity));
 			return new ProductDTO(entity);
 		}
 		catch (EntityNotFoundException e) {
@@ -64,19 +265,230 @@ public class ProductService {
 		}		
 	}
 
-	@Transactional(propagation = Propagation.SUPPORTS)
+	// Hibernate also clears the product's rows in tb_product_category before the DELETE
+	@Transactional
 	public void delete(Long id) {
-		if (!repository.existsById(id)) {
-			throw new ResourceNotFoundException("Id not found " + id);
-		}
+		Map<Long, Long> deltas = removedCategoryDeltas(List.of(id));
+		int deleted;
 		try {
-			repository.deleteById(id);
+			deleted = repository.deleteByIdReturningCount(id);
 		}
 		catch (DataIntegrityViolationException e) {
 			throw new DatabaseException("Integrity violation");
 		}
+		if (deleted == 0) {
+			throw new ResourceNotFoundException("Id not found " + id);
+		}
+		categoryProductCounts.apply(deltas);
+		eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
+	}
+
+	/*
+	 * Deletes in chunks of dscatalog.batch.chunk-size ids, each committed on its own so a
+	 * large cleanup never holds one long transaction. Unknown ids are skipped.
+	 */
+	public BulkDeleteResultDTO deleteAll(List<Long> ids) {
+		List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+		long deleted = 0;
+		for (int from = 0; from < distinct.size(); from += batchChunkSize) {
+			List<Long> chunk = distinct.subList(from, Math.min(from + batchChunkSize, distinct.size()));
+			try {
+				deleted += transactionTemplate.execute(status -> {
+					List<Long> existing = repository.findExistingIds(chunk);
+					if (existing.isEmpty()) {
+						return 0;
+					}
+					Map<Long, Long> deltas = removedCategoryDeltas(existing);
+					int count = repository.deleteAllByIdReturningCount(existing);
+					categoryProductCounts.apply(deltas);
+					existing.forEach(id -> eventPublisher.publishEvent(ProductChangedEvent.deleted(id)));
+					return count;
+				});
+			}
+			catch (DataIntegrityViolationException e) {
+				throw new DatabaseException("Integrity violation after deleting " + deleted + " products");
+			}
+		}
+		return new BulkDeleteResultDTO(ids.size(), deleted);
 	}
 	
+	/*
+	 * Items without id are inserted, items with id update the existing product. Every
+	 * chunk of dscatalog.batch.chunk-size items is written and committed in its own
+	 * transaction, so a failure only rolls back the chunk it happened in.
+	 */
+	public List<BatchItemResultDTO> saveAll(Iterator<ProductDTO> items) {
+		Set<Long> categoryIds = new HashSet<>(categoryRepository.findAllIds());
+		List<BatchItemResultDTO> results = new ArrayList<>();
+		List<ProductDTO> chunk = new ArrayList<>(batchChunkSize);
+		String readError = null;
+		while (true) {
+			try {
+				if (!items.hasNext()) {
+					break;
+				}
+				chunk.add(items.next());
+			}
+			catch (RuntimeException e) {
+				readError = "Unreadable item: " + e.getMessage();
+				break;
+			}
+			if (chunk.size() == batchChunkSize) {
+				results.addAll(commitChunk(chunk, results.size(), categoryIds));
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			results.addAll(commitChunk(chunk, results.size(), categoryIds));
+		}
+		if (readError != null) {
+			results.add(BatchItemResultDTO.failed(results.size(), null, readError));
+		}
+		return results;
+	}
+
+	/*
+	 * Writes one chunk inside the caller's transaction; categoryIds is the set of known
+	 * category ids used to reject items without a database round trip.
+	 */
+	@Transactional
+	public List<BatchItemResultDTO> saveChunk(List<ProductDTO> chunk, int offset, Set<Long> categoryIds) {
+		return writeChunk(chunk, offset, categoryIds);
+	}
+
+	private List<BatchItemResultDTO> commitChunk(List<ProductDTO> chunk, int offset, Set<Long> categoryIds) {
+		try {
+			return transactionTemplate.execute(status -> writeChunk(chunk, offset, categoryIds));
+		}
+		catch (DataAccessException | TransactionException e) {
+			List<BatchItemResultDTO> failed = new ArrayList<>(chunk.size());
+			for (int i = 0; i < chunk.size(); i++) {
+				failed.add(BatchItemResultDTO.failed(offset + i, chunk.get(i).getId(), "Chunk rolled back: " + e.getMessage()));
+			}
+			return failed;
+		}
+	}
+
+	private List<BatchItemResultDTO> writeChunk(List<ProductDTO> chunk, int offset, Set<Long> categoryIds) {
+		List<Long> ids = chunk.stream().map(ProductDTO::getId).filter(Objects::nonNull).toList();
+		Map<Long, Product> existing = ids.isEmpty() ? Map.of() : repository.findWithCategoriesByIdIn(ids).stream()
+				.collect(Collectors.toMap(Product::getId, Function.identity()));
+
+		BatchItemResultDTO[] results = new BatchItemResultDTO[chunk.size()];
+		Product[] entities = new Product[chunk.size()];
+		List<Product> created = new ArrayList<>();
+		Map<Long, Long> deltas = new HashMap<>();
+		for (int i = 0; i < chunk.size(); i++) {
+			ProductDTO dto = chunk.get(i);
+			Product entity = dto.getId() == null ? new Product() : existing.get(dto.getId());
+			String error = entity == null ? "Id not found " + dto.getId() : missingCategory(dto, categoryIds);
+			if (error != null) {
+				results[i] = BatchItemResultDTO.failed(offset + i, dto.getId(), error);
+				continue;
+			}
+			addCategoryDeltas(deltas, entity.getCategories(), -1);
+			copyDtoToEntity(dto, entity);
+			addCategoryDeltas(deltas, entity.getCategories(), 1);
+			if (dto.getId() == null) {
+				created.add(entity);
+			}
+			entities[i] = entity;
+		}
+		repository.saveAll(created);
+		repository.flush();
+		categoryProductCounts.apply(deltas);
+
+		for (int i = 0; i < chunk.size(); i++) {
+			if (results[i] == null) {
+				BatchItemResultDTO.Status status = chunk.get(i).getId() == null
+						? BatchItemResultDTO.Status.CREATED : BatchItemResultDTO.Status.UPDATED;
+				results[i] = new BatchItemResultDTO(offset + i, entities[i].getId(), status, null);
+				eventPublisher.publishEvent(ProductChangedEvent.saved(entities[i]));
+			}
+		}
+		entityManager.clear();
+		return Arrays.asList(results);
+	}
+
+	private Map<Long, Long> removedCategoryDeltas(Collection<Long> productIds) {
+		Map<Long, Long> deltas = new HashMap<>();
+		for (ProductCategoryProjection row : repository.findCategoriesByProductIds(productIds)) {
+			deltas.merge(row.getCategoryId(), -1L, Long::sum);
+		}
+		return deltas;
+	}
+
+	private static void addCategoryDeltas(Map<Long, Long> deltas, Collection<Category> categories, long delta) {
+		for (Category category : categories) {
+			deltas.merge(category.getId(), delta, Long::sum);
+		}
+	}
+
+	private List<String> columns(List<String> fields) {
+		for (String field : fields) {
+			if (!FIELDS.contains(field)) {
+				throw new InvalidRequestException("Unknown field " + field);
+			}
+		}
+		return FIELDS.stream()
+				.filter(field -> field.equals("id") || (fields.contains(field) && !field.equals("categories")))
+				.toList();
+	}
+
+	private void attachCategoryFields(List<Map<String, Object>> rows) {
+		if (rows.isEmpty()) {
+			return;
+		}
+		Map<Long, List<CategoryDTO>> byId = new HashMap<>();
+		for (Map<String, Object> row : rows) {
+			List<CategoryDTO> categories = new ArrayList<>();
+			row.put("categories", categories);
+			byId.put((Long) row.get("id"), categories);
+		}
+		for (ProductCategoryProjection row : repository.findCategoriesByProductIds(byId.keySet())) {
+			byId.get(row.getProductId()).add(new CategoryDTO(row.getCategoryId(), row.getCategoryName()));
+		}
+	}
+
+	private void checkVersion(Integer expected, Integer current) {
+		if (expected != null && !expected.equals(current)) {
+			throw new VersionConflictException("Version " + expected + " is out of date, current is " + current);
+		}
+	}
+
+	private <T extends Comparable<? super T>> void checkRange(T min, T max, String field) {
+		if (min != null && max != null && min.compareTo(max) > 0) {
+			throw new InvalidRequestException("Invalid " + field + " range");
+		}
+	}
+
+	private String missingCategory(ProductDTO dto, Set<Long> categoryIds) {
+		for (CategoryDTO catDto : dto.getCategories()) {
+			if (!categoryIds.contains(catDto.getId())) {
+				return "Category not found " + catDto.getId();
+			}
+		}
+		return null;
+	}
+
+	private void writeWindow(List<ProductDTO> window, Consumer<ProductDTO> sink) {
+		attachCategories(window);
+		window.forEach(sink);
+		window.clear();
+		entityManager.clear();
+	}
+
+	private void attachCategories(List<ProductDTO> products) {
+		if (products.isEmpty()) {
+			return;
+		}
+		Map<Long, ProductDTO> byId = products.stream()
+				.collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+		for (ProductCategoryProjection row : repository.findCategoriesByProductIds(byId.keySet())) {
+			byId.get(row.getProductId()).getCategories().add(new CategoryDTO(row.getCategoryId(), row.getCategoryName()));
+		}
+	}
+
 	private void copyDtoToEntity(ProductDTO dto, Product entity) {
 
 		entity.setName(dto.getName());
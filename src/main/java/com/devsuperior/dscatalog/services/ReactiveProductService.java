@@ -0,0 +1,67 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.repositories.ProductReadRepository;
+import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Read-only counterpart of ProductService over R2DBC. Categories are fetched with one
+ * IN query per window of CATEGORY_WINDOW products; windows are processed one after the
+ * other, so at most one window is held in memory whatever the subscriber's pace.
+ * findAll streams the whole table on purpose: rows are pulled as the subscriber requests
+ * them, so an unpaged stream costs one connection, not memory. Clients that want pages
+ * pass a size, bounded by PageLimits like the blocking endpoints.
+ * These reads go through the R2DBC ConnectionFactory (spring.r2dbc.*), not the JDBC
+ * DataSource, so the read/write routing, replica lag fallback and pools of
+ * DataSourceConfig do not apply: they hit whatever spring.r2dbc.url names, the primary
+ * unless it is pointed at the replica.
+ */
+@Service
+public class ReactiveProductService {
+
+	private static final int CATEGORY_WINDOW = 500;
+
+	@Autowired
+	private ProductReadRepository repository;
+
+	public Flux<ProductDTO> findAll() {
+		return withCategories(repository.findAll());
+	}
+
+	public Flux<ProductDTO> findPage(int page, int size) {
+		PageLimits.checkPage(page);
+		PageLimits.checkPageSize(size);
+		return withCategories(repository.findPage((long) page * size, size));
+	}
+
+	public Mono<ProductDTO> findById(Long id) {
+		return withCategories(repository.findById(id).flux())
+				.next()
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Entity not found")));
+	}
+
+	private Flux<ProductDTO> withCategories(Flux<ProductDTO> products) {
+		return products.buffer(CATEGORY_WINDOW).concatMap(this::attachCategories);
+	}
+
+	private Flux<ProductDTO> attachCategories(List<ProductDTO> window) {
+		Map<Long, ProductDTO> byId = window.stream()
+				.collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+		return repository.findCategoriesByProductIds(byId.keySet())
+				.doOnNext(row -> byId.get(row.productId()).getCategories()
+						.add(new CategoryDTO(row.categoryId(), row.categoryName())))
+				.thenMany(Flux.fromIterable(window));
+	}
+}
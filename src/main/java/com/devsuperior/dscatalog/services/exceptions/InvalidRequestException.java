@@ -0,0 +1,12 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+import java.io.Serial;
+
+public class InvalidRequestException extends RuntimeException {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	public InvalidRequestException(String msg) {
+		super(msg);
+	}
+}
@@ -0,0 +1,85 @@
+package com.devsuperior.dscatalog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+public class DataSourceConfigTests {
+
+    private static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2 + 1;
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+            .withUserConfiguration(DataSourceConfig.class)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:config_primary;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa");
+
+    @Test
+    public void poolsShouldDefaultToFixedSizeOfCoresTimesTwoPlusOne() {
+        runner.withPropertyValues("dscatalog.datasource.replica.jdbc-url=jdbc:h2:mem:config_replica;DB_CLOSE_DELAY=-1")
+                .run(context -> {
+                    HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+                    HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+
+                    Assertions.assertEquals(DEFAULT_POOL_SIZE, primary.getMaximumPoolSize());
+                    Assertions.assertEquals(DEFAULT_POOL_SIZE, primary.getMinimumIdle());
+                    Assertions.assertEquals(DEFAULT_POOL_SIZE, replica.getMaximumPoolSize());
+                    Assertions.assertEquals(DEFAULT_POOL_SIZE, replica.getMinimumIdle());
+                    Assertions.assertTrue(replica.isReadOnly());
+                    Assertions.assertEquals("dscatalog-replica", replica.getPoolName());
+                });
+    }
+
+    @Test
+    public void hikariPropertiesShouldOverrideDefaultSize() {
+        runner.withPropertyValues("spring.datasource.hikari.maximum-pool-size=4",
+                        "spring.datasource.hikari.minimum-idle=1",
+                        "dscatalog.datasource.replica.jdbc-url=jdbc:h2:mem:config_replica;DB_CLOSE_DELAY=-1",
+                        "dscatalog.datasource.replica.maximum-pool-size=6")
+                .run(context -> {
+                    HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+                    HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+
+                    Assertions.assertEquals(4, primary.getMaximumPoolSize());
+                    Assertions.assertEquals(1, primary.getMinimumIdle());
+                    Assertions.assertEquals(6, replica.getMaximumPoolSize());
+                });
+    }
+
+    @Test
+    public void dataSourceShouldRouteBetweenPoolsWithOrWithoutReplica() {
+        runner.run(context -> {
+            Assertions.assertInstanceOf(LazyConnectionDataSourceProxy.class, context.getBean(DataSource.class));
+            Assertions.assertFalse(context.containsBean("replicaDataSource"));
+        });
+        runner.withPropertyValues("dscatalog.datasource.replica.jdbc-url=jdbc:h2:mem:config_replica;DB_CLOSE_DELAY=-1")
+                .run(context -> Assertions.assertInstanceOf(LazyConnectionDataSourceProxy.class,
+                        context.getBean(DataSource.class)));
+    }
+
+    @Test
+    public void exportPoolShouldReadFromReplicaWhenConfiguredAndSkipLeakDetection() {
+        runner.withPropertyValues("spring.datasource.hikari.leak-detection-threshold=5000")
+                .run(context -> {
+                    HikariDataSource export = context.getBean("exportDataSource", HikariDataSource.class);
+                    Assertions.assertEquals("jdbc:h2:mem:config_primary;DB_CLOSE_DELAY=-1", export.getJdbcUrl());
+                    Assertions.assertEquals(0, export.getLeakDetectionThreshold());
+                    Assertions.assertEquals(5000, context.getBean("primaryDataSource", HikariDataSource.class)
+                            .getLeakDetectionThreshold());
+                });
+        runner.withPropertyValues("dscatalog.datasource.replica.jdbc-url=jdbc:h2:mem:config_replica;DB_CLOSE_DELAY=-1",
+                        "dscatalog.datasource.export.maximum-pool-size=2")
+                .run(context -> {
+                    HikariDataSource export = context.getBean("exportDataSource", HikariDataSource.class);
+                    Assertions.assertEquals("jdbc:h2:mem:config_replica;DB_CLOSE_DELAY=-1", export.getJdbcUrl());
+                    Assertions.assertEquals(2, export.getMaximumPoolSize());
+                    Assertions.assertTrue(export.isReadOnly());
+                });
+    }
+}
@@ -0,0 +1,91 @@
+package com.devsuperior.dscatalog.config;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class ReadWriteRoutingDataSourceTests {
+
+    private AtomicBoolean replicaUsable;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    public void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        DataSource export = h2("export");
+        replicaUsable = new AtomicBoolean(true);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, export, replicaUsable::get));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    public void readOnlyTransactionShouldUseReplica() {
+        Assertions.assertEquals("replica", readOnlyTransaction.execute(status -> whoAmI()));
+    }
+
+    @Test
+    public void writeTransactionShouldUsePrimary() {
+        Assertions.assertEquals("primary", writeTransaction.execute(status -> whoAmI()));
+    }
+
+    @Test
+    public void statementOutsideTransactionShouldUsePrimary() {
+        Assertions.assertEquals("primary", whoAmI());
+    }
+
+    @Test
+    public void readOnlyTransactionShouldFallBackToPrimaryWhenReplicaIsStale() {
+        replicaUsable.set(false);
+        Assertions.assertEquals("primary", readOnlyTransaction.execute(status -> whoAmI()));
+    }
+
+    @Test
+    public void streamingReadShouldUseExportPool() {
+        String[] used = new String[1];
+        readOnlyTransaction.executeWithoutResult(status -> StreamingReads.run(() -> used[0] = whoAmI()));
+        Assertions.assertEquals("export", used[0]);
+    }
+
+    @Test
+    public void readOnlyTransactionShouldUsePrimaryWithoutReplica() {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(h2("primary"), null, h2("export"), () -> true));
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        Assertions.assertEquals("primary", readOnly.execute(status -> jdbc.queryForObject("SELECT name FROM instance", String.class)));
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM instance", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS instance (name VARCHAR(16))");
+        jdbc.execute("DELETE FROM instance");
+        jdbc.update("INSERT INTO instance (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
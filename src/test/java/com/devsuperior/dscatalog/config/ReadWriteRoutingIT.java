@@ -0,0 +1,76 @@
+package com.devsuperior.dscatalog.config;
+
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.OutboxDispatcher;
+import com.devsuperior.dscatalog.services.ProductService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/*
+ * Runs against a second in-memory database standing in for the replica. It gets a copy of
+ * the primary's schema and data, then its product names are changed, so each read shows
+ * which database served it.
+ */
+@SpringBootTest(properties = {
+        "dscatalog.datasource.replica.jdbc-url=" + ReadWriteRoutingIT.REPLICA_URL,
+        "dscatalog.datasource.replica.username=sa",
+        "dscatalog.search.rebuild-on-startup=false"
+})
+public class ReadWriteRoutingIT {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1";
+
+    // polls the outbox through read-only repository calls before the replica has a schema
+    @MockBean
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    private Long existingId;
+
+    @BeforeEach
+    public void setUp() {
+        existingId = 1L;
+        JdbcTemplate replica = new JdbcTemplate(new SingleConnectionDataSource(REPLICA_URL, "sa", "", true));
+        if (replica.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'TB_PRODUCT'", Integer.class) == 0) {
+            List<String> script = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT", String.class);
+            script.forEach(replica::execute);
+            replica.update("UPDATE tb_product SET name = CONCAT('Replica ', name)");
+        }
+    }
+
+    @Test
+    public void readOnlyServiceCallShouldReadFromReplica() {
+        String name = productService.findById(existingId).getName();
+
+        Assertions.assertTrue(name.startsWith("Replica "), name);
+    }
+
+    @Test
+    public void readWriteTransactionShouldReadFromPrimary() {
+        String name = transactionTemplate.execute(status -> productRepository.findById(existingId).orElseThrow().getName());
+
+        Assertions.assertFalse(name.startsWith("Replica "), name);
+        Assertions.assertEquals(name, productService.findById(existingId).getName().substring("Replica ".length()));
+    }
+}
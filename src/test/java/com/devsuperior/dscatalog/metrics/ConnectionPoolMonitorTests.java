@@ -0,0 +1,90 @@
+package com.devsuperior.dscatalog.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConnectionPoolMonitorTests {
+
+    @Configuration
+    static class Pools {
+
+        @Bean
+        public HikariDataSource primaryDataSource() {
+            return pool("monitor_primary");
+        }
+
+        @Bean
+        public HikariDataSource replicaDataSource() {
+            return pool("monitor_replica");
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public ConnectionPoolMonitor connectionPoolMonitor() {
+            return new ConnectionPoolMonitor();
+        }
+
+        private static HikariDataSource pool(String name) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+            dataSource.setUsername("sa");
+            dataSource.setPoolName(name);
+            dataSource.setMaximumPoolSize(2);
+            dataSource.setMinimumIdle(2);
+            return dataSource;
+        }
+    }
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner().withUserConfiguration(Pools.class);
+
+    @Test
+    public void warmUpShouldOpenMinimumIdleConnectionsInEveryPool() {
+        runner.run(context -> {
+            context.getBean(ConnectionPoolMonitor.class).warmUp();
+
+            for (HikariDataSource pool : context.getBeansOfType(HikariDataSource.class).values()) {
+                Assertions.assertEquals(2, pool.getHikariPoolMXBean().getTotalConnections(), pool.getPoolName());
+            }
+        });
+    }
+
+    @Test
+    public void checkShouldCountSaturationOfReplicaPoolOnly() {
+        runner.run(context -> {
+            ConnectionPoolMonitor monitor = context.getBean(ConnectionPoolMonitor.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+            monitor.warmUp();
+
+            List<Connection> held = new ArrayList<>();
+            try {
+                held.add(replica.getConnection());
+                held.add(replica.getConnection());
+                monitor.check();
+            }
+            finally {
+                for (Connection connection : held) {
+                    connection.close();
+                }
+            }
+            monitor.check();
+
+            Assertions.assertEquals(1.0, registry.counter("dscatalog.pool.saturation", "pool", "monitor_replica").count());
+            Assertions.assertEquals(0.0, registry.counter("dscatalog.pool.saturation", "pool", "monitor_primary").count());
+        });
+    }
+}
@@ -1,5 +1,10 @@
 package com.devsuperior.dscatalog.resources;
 
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.services.CategoryService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,10 +12,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -20,6 +31,9 @@ public class ProductResourceIT {
 
     @Autowired
     private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
     private Long existingId;
     private Long nonExistingId;
     private Long countTotalProducts;
@@ -42,5 +56,139 @@ public class ProductResourceIT {
 
     }
 
+    @Test
+    public void findAllShouldReturnOnlyRequestedFields() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/products?page=0&size=12&sort=name,asc&fields=name,price")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(countTotalProducts))
+                .andExpect(jsonPath("$.content[0].id").exists())
+                .andExpect(jsonPath("$.content[0].name").value("Macbook Pro"))
+                .andExpect(jsonPath("$.content[0].price").exists())
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].categories").doesNotExist());
+    }
+
+    @Test
+    public void findByIdShouldReturnOnlyRequestedFields() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/products/{id}?fields=name,categories", existingId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(existingId))
+                .andExpect(jsonPath("$.name").value("The Lord of the Rings"))
+                .andExpect(jsonPath("$.categories[0].id").exists())
+                .andExpect(jsonPath("$.imgUrl").doesNotExist());
+    }
+
+    @Test
+    public void findAllShouldReturnBadRequestWhenFieldIsUnknown() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/products?fields=name,secret")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void findAllShouldReturnCborWhenRequested() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/products?page=0&size=12")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode page = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        Assertions.assertEquals(countTotalProducts, page.get("totalElements").asLong());
+        Assertions.assertEquals(12, page.get("content").size());
+    }
+
+    @Test
+    public void exportShouldStreamOneJsonLinePerProduct() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
 
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        Assertions.assertEquals(countTotalProducts, lines.length);
+    }
+
+    @Test
+    public void findByIdShouldReturnNotModifiedWhenETagMatches() throws Exception {
+        MvcResult first = mockMvc.perform(MockMvcRequestBuilders.get("/products/{id}", existingId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String eTag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/products/{id}", existingId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void findByIdShouldServeRepresentationSpecificETagsVaryingOnAccept() throws Exception {
+        MvcResult json = mockMvc.perform(MockMvcRequestBuilders.get("/products/{id}", existingId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn();
+        String jsonETag = json.getResponse().getHeader("ETag");
+
+        MvcResult cbor = mockMvc.perform(MockMvcRequestBuilders.get("/products/{id}", existingId)
+                        .accept(MediaType.APPLICATION_CBOR).header("If-None-Match", jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn();
+        String cborETag = cbor.getResponse().getHeader("ETag");
+        Assertions.assertNotEquals(jsonETag, cborETag);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/products/{id}", existingId)
+                        .accept(MediaType.APPLICATION_CBOR).header("If-None-Match", cborETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", containsString("Accept")));
+    }
+
+    @Test
+    public void findByIdShouldChangeETagWhenEmbeddedCategoryIsRenamed() throws Exception {
+        MvcResult first = mockMvc.perform(MockMvcRequestBuilders.get("/products/{id}", existingId))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = first.getResponse().getHeader("ETag");
+
+        categoryService.update(2L, new CategoryDTO(2L, "Gadgets"));
+
+        MvcResult second = mockMvc.perform(MockMvcRequestBuilders.get("/products/{id}", existingId)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories[0].name").value("Gadgets"))
+                .andReturn();
+        Assertions.assertNotEquals(eTag, second.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    public void updateShouldReturnETagThatNextGetAcceptsAsNotModified() throws Exception {
+        String body = "{\"name\":\"Renamed\",\"description\":\"Updated\",\"price\":90.5,\"categories\":[{\"id\":2}]}";
+
+        MvcResult put = mockMvc.perform(MockMvcRequestBuilders.put("/products/{id}", existingId)
+                        .content(body).contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String eTag = put.getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/products/{id}", existingId)
+                        .accept(MediaType.APPLICATION_JSON).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void findByIdShouldReportQueryCountHeader() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/products/{id}", existingId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Query-Count", "2"));
+    }
 }
@@ -55,8 +55,8 @@ public class ProductResourceTest {
         Mockito.when(productService.insert(any(ProductDTO.class))).thenReturn(productDTO);
 
 
-        Mockito.when(productService.update(eq(existingId), any())).thenReturn(productDTO);
-        Mockito.when(productService.update(eq(nonExistingId), any())).thenThrow(ResourceNotFoundException.class);
+        Mockito.when(productService.update(eq(existingId), any(), any())).thenReturn(productDTO);
+        Mockito.when(productService.update(eq(nonExistingId), any(), any())).thenThrow(ResourceNotFoundException.class);
 
         Mockito.when(productService.findById(existingId)).thenReturn(productDTO);
         Mockito.when(productService.findById(nonExistingId)).thenThrow(ResourceNotFoundException.class);
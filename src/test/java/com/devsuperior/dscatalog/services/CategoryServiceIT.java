@@ -0,0 +1,122 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.config.CacheConfig;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.repositories.CategoryProductCountRepository;
+import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@SpringBootTest
+@Transactional
+public class CategoryServiceIT {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryProductCountService categoryProductCountService;
+
+    @Autowired
+    private CategoryProductCountRepository categoryProductCountRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long existingId;
+    private Long nonExistingId;
+    private Cache categories;
+    private Cache categoryPages;
+
+    @BeforeEach
+    public void setUp() {
+        existingId = 1L;
+        nonExistingId = 1000L;
+        categories = cacheManager.getCache(CacheConfig.CATEGORIES);
+        categoryPages = cacheManager.getCache(CacheConfig.CATEGORY_PAGES);
+        categories.clear();
+        categoryPages.clear();
+    }
+
+    @Test
+    public void findByIdShouldPopulateCache() {
+        CategoryDTO dto = categoryService.findById(existingId);
+        Assertions.assertSame(dto, categories.get(existingId, CategoryDTO.class));
+        Assertions.assertSame(dto, categoryService.findById(existingId));
+    }
+
+    @Test
+    public void findByIdShouldNotCacheMissingCategory() {
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> categoryService.findById(nonExistingId));
+        Assertions.assertNull(categories.get(nonExistingId));
+    }
+
+    @Test
+    public void updateShouldEvictCachedCategoryAndPages() {
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        categoryService.findById(existingId);
+        categoryService.findAllPaged(pageRequest);
+
+        categoryService.update(existingId, new CategoryDTO(existingId, "Books"));
+
+        Assertions.assertNull(categories.get(existingId));
+        Assertions.assertNull(categoryPages.get(pageRequest));
+        Assertions.assertEquals("Books", categoryService.findById(existingId).getName());
+    }
+
+    @Test
+    public void insertShouldEvictCachedPages() {
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        categoryService.findAllPaged(pageRequest);
+
+        categoryService.insert(new CategoryDTO(null, "Games"));
+
+        Assertions.assertNull(categoryPages.get(pageRequest));
+        Assertions.assertEquals(4L, categoryService.findAllPaged(pageRequest).getTotalElements());
+    }
+
+    @Test
+    public void findByIdShouldReturnProductCount() {
+        Assertions.assertEquals(1L, categoryService.findById(existingId).getProductCount());
+    }
+
+    @Test
+    public void productWritesShouldKeepProductCountUpToDate() {
+        ProductDTO dto = new ProductDTO(null, "Book", "A book", 10.0, "https://img", Instant.now());
+        dto.getCategories().add(new CategoryDTO(existingId, null));
+
+        ProductDTO inserted = productService.insert(dto);
+        Assertions.assertEquals(2L, categoryProductCountService.findCount(existingId));
+
+        dto.getCategories().clear();
+        dto.getCategories().add(new CategoryDTO(2L, null));
+        productService.update(inserted.getId(), dto);
+        Assertions.assertEquals(1L, categoryProductCountService.findCount(existingId));
+        Assertions.assertEquals(3L, categoryProductCountService.findCount(2L));
+
+        productService.delete(inserted.getId());
+        Assertions.assertEquals(2L, categoryProductCountService.findCount(2L));
+    }
+
+    @Test
+    public void reconcileShouldRebuildDriftedCounts() {
+        categoryProductCountRepository.addToCount(existingId, 5L, Instant.now());
+
+        Assertions.assertEquals(1, categoryProductCountService.reconcile());
+        Assertions.assertEquals(1L, categoryProductCountService.findCount(existingId));
+        Assertions.assertEquals(0, categoryProductCountService.reconcile());
+    }
+}
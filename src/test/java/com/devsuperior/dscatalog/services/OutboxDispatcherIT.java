@@ -0,0 +1,210 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ChangeEventDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.OutboxEvent;
+import com.devsuperior.dscatalog.repositories.OutboxEventRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest(properties = {"dscatalog.outbox.gap-timeout-ms=60000", "dscatalog.outbox.poll-interval-ms=3600000"})
+public class OutboxDispatcherIT {
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        public RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements OutboxListener {
+
+        final List<ChangeEventDTO> events = new CopyOnWriteArrayList<>();
+        volatile boolean failNext;
+
+        @Override
+        public String getName() {
+            return "test";
+        }
+
+        @Override
+        public void onEvents(List<ChangeEventDTO> batch) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("Consumer unavailable");
+            }
+            events.addAll(batch);
+        }
+
+        List<ChangeEventDTO> eventsFor(String aggregateType, Long aggregateId) {
+            return events.stream()
+                    .filter(e -> e.getAggregateType().equals(aggregateType) && e.getAggregateId().equals(aggregateId))
+                    .toList();
+        }
+
+        int indexOf(Long offset) {
+            for (int i = 0; i < events.size(); i++) {
+                if (events.get(i).getOffset().equals(offset)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private OutboxEventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        dispatcher.dispatch();
+        listener.failNext = false;
+    }
+
+    @Test
+    public void dispatchShouldDeliverCommittedChangesInOrderOnce() {
+        ProductDTO inserted = productService.insert(newProduct());
+        productService.delete(inserted.getId());
+
+        dispatcher.dispatch();
+
+        List<ChangeEventDTO> events = listener.eventsFor(OutboxEvent.PRODUCT, inserted.getId());
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertFalse(events.get(0).isDeleted());
+        Assertions.assertTrue(events.get(1).isDeleted());
+        Assertions.assertTrue(events.get(0).getOffset() < events.get(1).getOffset());
+
+        int delivered = listener.events.size();
+        dispatcher.dispatch();
+        Assertions.assertEquals(delivered, listener.events.size());
+    }
+
+    @Test
+    public void dispatchShouldRedeliverBatchAfterListenerFailure() {
+        ProductDTO inserted = productService.insert(newProduct());
+        listener.failNext = true;
+
+        dispatcher.dispatch();
+        Assertions.assertTrue(listener.eventsFor(OutboxEvent.PRODUCT, inserted.getId()).isEmpty());
+
+        dispatcher.dispatch();
+        Assertions.assertEquals(1, listener.eventsFor(OutboxEvent.PRODUCT, inserted.getId()).size());
+
+        productService.delete(inserted.getId());
+    }
+
+    @Test
+    public void deleteAllShouldRecordOnlyRemovedIds() {
+        ProductDTO product = productService.insert(newProduct());
+        CategoryDTO category = categoryService.insert(new CategoryDTO(null, "Outbox category"));
+
+        productService.deleteAll(List.of(product.getId(), 9999L));
+        categoryService.deleteAll(List.of(category.getId(), 9999L));
+        dispatcher.dispatch();
+
+        Assertions.assertTrue(listener.eventsFor(OutboxEvent.PRODUCT, product.getId()).get(1).isDeleted());
+        Assertions.assertTrue(listener.eventsFor(OutboxEvent.CATEGORY, category.getId()).get(1).isDeleted());
+        Assertions.assertTrue(listener.eventsFor(OutboxEvent.PRODUCT, 9999L).isEmpty());
+        Assertions.assertTrue(listener.eventsFor(OutboxEvent.CATEGORY, 9999L).isEmpty());
+    }
+
+    @Test
+    public void dispatchShouldWaitForOverlappingTransactionHoldingLowerId() throws Exception {
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> slow = executor.submit(() -> transactionTemplate.execute(status -> {
+                Long id = eventRepository.saveAndFlush(newEvent(Instant.now())).getId();
+                recorded.countDown();
+                awaitQuietly(release);
+                return id;
+            }));
+            Assertions.assertTrue(recorded.await(10, TimeUnit.SECONDS));
+            Long fastId = transactionTemplate.execute(status -> eventRepository.save(newEvent(Instant.now())).getId());
+
+            dispatcher.dispatch();
+            Assertions.assertEquals(-1, listener.indexOf(fastId));
+
+            release.countDown();
+            Long slowId = slow.get(10, TimeUnit.SECONDS);
+            Assertions.assertTrue(slowId < fastId);
+
+            dispatcher.dispatch();
+            Assertions.assertTrue(listener.indexOf(slowId) >= 0);
+            Assertions.assertTrue(listener.indexOf(slowId) < listener.indexOf(fastId));
+        }
+        finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void dispatchShouldSkipGapOlderThanTimeout() {
+        transactionTemplate.execute(status -> {
+            eventRepository.saveAndFlush(newEvent(Instant.now()));
+            status.setRollbackOnly();
+            return null;
+        });
+        Instant beforeTimeout = Instant.now().minus(2, ChronoUnit.MINUTES);
+        Long laterId = transactionTemplate.execute(status -> eventRepository.save(newEvent(beforeTimeout)).getId());
+
+        dispatcher.dispatch();
+
+        Assertions.assertTrue(listener.indexOf(laterId) >= 0);
+    }
+
+    private static OutboxEvent newEvent(Instant createdAt) {
+        return new OutboxEvent(OutboxEvent.PRODUCT, -1L, 0, false, createdAt);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ProductDTO newProduct() {
+        ProductDTO dto = new ProductDTO(null, "Outbox product", "Outbox description", 10.0, "https://img", Instant.now());
+        dto.getCategories().add(new CategoryDTO(1L, null));
+        return dto;
+    }
+}
@@ -0,0 +1,119 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ImportReportDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@SpringBootTest(properties = "dscatalog.import.chunk-size=2")
+public class ProductImportServiceIT {
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    public void tearDown() {
+        productService.deleteAll(importedIds());
+    }
+
+    @Test
+    public void importCsvShouldReportMalformedRowsAndImportTheRest() {
+        String csv = """
+                name,price,categoryIds
+                Imported 1,10.0,1
+                "Imported 2, boxed",ten,1
+                "Imported 3,20.0,1
+                Imported 4,30.0,2
+                """;
+
+        ImportReportDTO report = importService.importCsv(stream(csv), null);
+
+        Assertions.assertTrue(report.isCompleted());
+        Assertions.assertEquals(4, report.getRowsRead());
+        Assertions.assertEquals(2, report.getRowsImported());
+        Assertions.assertEquals(2, report.getRowsFailed());
+        Assertions.assertEquals(2, report.getErrors().get(0).getIndex());
+        Assertions.assertEquals(2, importedIds().size());
+    }
+
+    @Test
+    public void importNdjsonShouldResumeFromCheckpointAfterFailedChunk() {
+        String tooLong = "x".repeat(300);
+        String failing = ndjson("Imported 1", "Imported 2", "Imported 3", tooLong, "Imported 5");
+        String fixed = ndjson("Imported 1", "Imported 2", "Imported 3", "Imported 4", "Imported 5");
+
+        ImportReportDTO first = importService.importNdjson(stream(failing), "resume-job");
+
+        Assertions.assertFalse(first.isCompleted());
+        Assertions.assertNotNull(first.getAbortReason());
+        Assertions.assertEquals(2L, first.getCheckpoint());
+        Assertions.assertEquals(2, importedIds().size());
+
+        ImportReportDTO second = importService.importNdjson(stream(fixed), "resume-job");
+
+        Assertions.assertTrue(second.isCompleted());
+        Assertions.assertEquals(2L, second.getResumedFrom());
+        Assertions.assertEquals(3, second.getRowsImported());
+        Assertions.assertEquals(5L, second.getCheckpoint());
+        Assertions.assertEquals(5, importedIds().size());
+    }
+
+    @Test
+    public void importShouldNotReturnBeforeWriterStopsWhenInputFails() throws InterruptedException {
+        InputStream broken = new SequenceInputStream(
+                stream(ndjson("Imported 1", "Imported 2", "Imported 3", "Imported 4", "Imported 5")),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection reset");
+                    }
+                });
+
+        ImportReportDTO report = importService.importNdjson(broken, null);
+        long imported = report.getRowsImported();
+        Long checkpoint = report.getCheckpoint();
+        Thread.sleep(200);
+
+        Assertions.assertEquals("Unreadable input: connection reset", report.getAbortReason());
+        Assertions.assertEquals(imported, report.getRowsImported());
+        Assertions.assertEquals(checkpoint, report.getCheckpoint());
+        Assertions.assertEquals(checkpoint, imported);
+        Assertions.assertEquals(imported, importedIds().size());
+    }
+
+    private List<Long> importedIds() {
+        return productRepository.findAll().stream()
+                .filter(p -> p.getName().startsWith("Imported"))
+                .map(Product::getId)
+                .toList();
+    }
+
+    private static String ndjson(String... names) {
+        StringBuilder body = new StringBuilder();
+        for (String name : names) {
+            body.append("{\"name\":\"").append(name).append("\",\"price\":10.0,\"categories\":[{\"id\":1}]}\n");
+        }
+        return body.toString();
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
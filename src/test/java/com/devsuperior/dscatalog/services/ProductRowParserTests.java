@@ -0,0 +1,81 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+
+public class ProductRowParserTests {
+
+    private static final String HEADER = "id,name,description,price,imgUrl,date,categoryIds";
+
+    private final ProductRowParser ndjson = ProductRowParser.ndjson(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    public void ndjsonShouldParseProductLine() {
+        ProductDTO dto = ndjson.parse("{\"name\":\"Phone\",\"price\":999.9,\"date\":\"2020-07-14T10:00:00Z\","
+                + "\"categories\":[{\"id\":2}]}");
+
+        Assertions.assertNull(dto.getId());
+        Assertions.assertEquals("Phone", dto.getName());
+        Assertions.assertEquals(999.9, dto.getPrice());
+        Assertions.assertEquals(Instant.parse("2020-07-14T10:00:00Z"), dto.getDate());
+        Assertions.assertEquals(2L, dto.getCategories().get(0).getId());
+    }
+
+    @Test
+    public void ndjsonShouldThrowIllegalArgumentExceptionWhenLineIsMalformed() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ndjson.parse("{\"name\":\"Phone\","));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ndjson.parse("{\"price\":\"cheap\"}"));
+    }
+
+    @Test
+    public void csvShouldThrowInvalidRequestExceptionWhenHeaderIsMissingOrHasNoName() {
+        Assertions.assertThrows(InvalidRequestException.class, () -> ProductRowParser.csv(null));
+        Assertions.assertThrows(InvalidRequestException.class, () -> ProductRowParser.csv("id,price"));
+    }
+
+    @Test
+    public void csvShouldParseQuotedFieldsWithCommasAndEscapedQuotes() {
+        ProductRowParser parser = ProductRowParser.csv(HEADER);
+
+        ProductDTO dto = parser.parse(",\"Phone, 5G\",\"The \"\"best\"\" phone\",999.9,https://img,"
+                + "2020-07-14T10:00:00Z,1; 2");
+
+        Assertions.assertNull(dto.getId());
+        Assertions.assertEquals("Phone, 5G", dto.getName());
+        Assertions.assertEquals("The \"best\" phone", dto.getDescription());
+        Assertions.assertEquals(999.9, dto.getPrice());
+        Assertions.assertEquals(Instant.parse("2020-07-14T10:00:00Z"), dto.getDate());
+        Assertions.assertEquals(2, dto.getCategories().size());
+        Assertions.assertEquals(2L, dto.getCategories().get(1).getId());
+    }
+
+    @Test
+    public void csvShouldMatchColumnsByHeaderAndTreatMissingFieldsAsNull() {
+        ProductRowParser parser = ProductRowParser.csv("price,name");
+
+        ProductDTO dto = parser.parse("10.5,Book");
+        Assertions.assertEquals("Book", dto.getName());
+        Assertions.assertEquals(10.5, dto.getPrice());
+        Assertions.assertNull(dto.getDescription());
+
+        ProductDTO partial = parser.parse(",Book");
+        Assertions.assertNull(partial.getPrice());
+        Assertions.assertTrue(partial.getCategories().isEmpty());
+    }
+
+    @Test
+    public void csvShouldThrowIllegalArgumentExceptionWhenRowIsMalformed() {
+        ProductRowParser parser = ProductRowParser.csv(HEADER);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse("1,\"Phone,10.0"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse("x,Phone,,10.0"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse(",Phone,,ten"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse(",Phone,,10.0,,yesterday"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.parse(",Phone,,10.0,,,1;a"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.function.Predicate;
+
+@SpringBootTest(properties = "dscatalog.search.max-stale-ms=100")
+public class ProductSearchServiceIT {
+
+    @Autowired
+    private ProductSearchService searchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private HikariDataSource exportDataSource;
+
+    @Test
+    public void searchShouldReturnRankedPageWithTotalMatches() {
+        Page<ProductDTO> page = searchService.search("gamer", PageRequest.of(0, 5));
+
+        Assertions.assertEquals(21L, page.getTotalElements());
+        Assertions.assertEquals(5, page.getContent().size());
+        Assertions.assertTrue(page.getContent().stream().allMatch(p -> p.getName().contains("Gamer")));
+        Assertions.assertFalse(page.getContent().get(0).getCategories().isEmpty());
+    }
+
+    @Test
+    public void searchShouldMatchNameTerms() {
+        Page<ProductDTO> page = searchService.search("macbook", PageRequest.of(0, 10));
+
+        Assertions.assertEquals(1L, page.getTotalElements());
+        Assertions.assertEquals(3L, page.getContent().get(0).getId());
+    }
+
+    @Test
+    public void searchShouldReturnEmptyPageWithTotalWhenPageIsPastIndex() {
+        Page<ProductDTO> page = searchService.search("gamer", PageRequest.of(100000, 1000));
+
+        Assertions.assertTrue(page.getContent().isEmpty());
+        Assertions.assertEquals(21L, page.getTotalElements());
+    }
+
+    @Test
+    public void searchShouldReturnEmptyPageWhenOffsetExceedsIntRange() {
+        Page<ProductDTO> page = searchService.search("gamer", PageRequest.of(Integer.MAX_VALUE, 1000));
+
+        Assertions.assertTrue(page.getContent().isEmpty());
+    }
+
+    @Test
+    public void rebuildShouldStreamProductsThroughExportPool() {
+        searchService.rebuild();
+
+        Assertions.assertTrue(exportDataSource.getHikariPoolMXBean().getTotalConnections() > 0);
+        Assertions.assertEquals(21L, searchService.search("gamer", PageRequest.of(0, 5)).getTotalElements());
+    }
+
+    @Test
+    public void searchShouldThrowInvalidRequestWhenTextIsBlank() {
+        Assertions.assertThrows(InvalidRequestException.class, () -> searchService.search(" ", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    public void productChangesShouldReachIndexAfterCommit() throws InterruptedException {
+        Long id = productService.insert(new ProductDTO(null, "Zeppelin", "Rigid airship", 10.0, null, null)).getId();
+        Assertions.assertEquals(1L, awaitSearch("zeppelin", page -> page.getTotalElements() == 1).getTotalElements());
+        Assertions.assertEquals(id, searchService.search("zeppelin", PageRequest.of(0, 10)).getContent().get(0).getId());
+
+        productService.update(id, new ProductDTO(null, "Dirigible", "Rigid airship", 10.0, null, null));
+        Assertions.assertEquals(1L, awaitSearch("dirigible", page -> page.getTotalElements() == 1).getTotalElements());
+        Assertions.assertEquals(0L, searchService.search("zeppelin", PageRequest.of(0, 10)).getTotalElements());
+
+        productService.delete(id);
+        Assertions.assertEquals(0L, awaitSearch("airship", page -> page.getTotalElements() == 0).getTotalElements());
+    }
+
+    // the searcher is reopened in the background, at most max-stale-ms after a change
+    private Page<ProductDTO> awaitSearch(String text, Predicate<Page<ProductDTO>> condition) throws InterruptedException {
+        Page<ProductDTO> page = searchService.search(text, PageRequest.of(0, 10));
+        for (int i = 0; i < 50 && !condition.test(page); i++) {
+            Thread.sleep(100);
+            page = searchService.search(text, PageRequest.of(0, 10));
+        }
+        return page;
+    }
+}
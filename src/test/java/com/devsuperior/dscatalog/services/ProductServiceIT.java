@@ -1,8 +1,17 @@
 package com.devsuperior.dscatalog.services;
 
+import com.devsuperior.dscatalog.dto.BatchItemResultDTO;
+import com.devsuperior.dscatalog.dto.BulkDeleteResultDTO;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.dto.FacetedPageDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.exceptions.VersionConflictException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +21,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @SpringBootTest
 @Transactional
 public class ProductServiceIT {
@@ -57,10 +69,128 @@ public class ProductServiceIT {
         Assertions.assertEquals(countTotalProducts, page.getTotalElements());
     }
 
+    @Test
+    public void findAllPagedShouldReturnListingColumnsOnly() {
+        Page<ProductDTO> page = productService.findAllPaged(PageRequest.of(0, 10));
+        ProductDTO first = page.getContent().get(0);
+        Assertions.assertNotNull(first.getName());
+        Assertions.assertNotNull(first.getPrice());
+        Assertions.assertNull(first.getDescription());
+    }
+
     @Test
     public void findAllPagedShouldReturnEmptyPageWhenPageDoesNotExist() {
         PageRequest pageRequest = PageRequest.of(50, 10);
         Page<ProductDTO> page = productService.findAllPaged(pageRequest);
         Assertions.assertTrue(page.isEmpty());
     }
+
+    @Test
+    public void findAllByCursorShouldWalkWholeCatalogInNameOrder() {
+        List<ProductDTO> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<ProductDTO> page = productService.findAllByCursor(cursor, 10);
+            all.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        Assertions.assertEquals(countTotalProducts, all.size());
+        Assertions.assertEquals(countTotalProducts, all.stream().map(ProductDTO::getId).distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            Assertions.assertTrue(all.get(i - 1).getName().compareTo(all.get(i).getName()) <= 0);
+        }
+    }
+
+    @Test
+    public void findAllByCursorShouldReachProductsWithoutNameLast() {
+        Long first = productService.insert(new ProductDTO(null, null, "No name", 10.0, null, null)).getId();
+        Long second = productService.insert(new ProductDTO(null, null, "No name", 20.0, null, null)).getId();
+
+        List<ProductDTO> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<ProductDTO> page = productService.findAllByCursor(cursor, 13);
+            all.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        Assertions.assertEquals(countTotalProducts + 2, all.size());
+        Assertions.assertEquals(first, all.get(all.size() - 2).getId());
+        Assertions.assertEquals(second, all.get(all.size() - 1).getId());
+    }
+
+    @Test
+    public void saveAllShouldInsertUpdateAndReportFailuresPerItem() {
+        ProductDTO created = new ProductDTO(null, "Keyboard", "Mechanical keyboard", 350.0, null, null);
+        created.getCategories().add(new CategoryDTO(3L, null));
+        ProductDTO updated = productService.findById(exisitingId);
+        updated.setPrice(99.0);
+        ProductDTO missingCategory = new ProductDTO(null, "Mouse", "Wireless mouse", 120.0, null, null);
+        missingCategory.getCategories().add(new CategoryDTO(nonExistingId, null));
+
+        List<BatchItemResultDTO> results = productService.saveAll(List.of(created, updated, missingCategory).iterator());
+
+        Assertions.assertEquals(BatchItemResultDTO.Status.CREATED, results.get(0).getStatus());
+        Assertions.assertNotNull(results.get(0).getId());
+        Assertions.assertEquals(BatchItemResultDTO.Status.UPDATED, results.get(1).getStatus());
+        Assertions.assertEquals(BatchItemResultDTO.Status.FAILED, results.get(2).getStatus());
+        Assertions.assertEquals(countTotalProducts + 1, productRepository.count());
+        Assertions.assertEquals(99.0, productService.findById(exisitingId).getPrice());
+    }
+
+    @Test
+    public void findAllFilteredShouldApplyPriceRange() {
+        ProductFilterDTO filter = new ProductFilterDTO(null, 1000.0, 1300.0, null, null);
+        Page<ProductDTO> page = productService.findAllFiltered(filter, false, PageRequest.of(0, 10));
+
+        Assertions.assertEquals(3L, page.getTotalElements());
+        Assertions.assertTrue(page.getContent().stream().allMatch(p -> p.getPrice() >= 1000.0 && p.getPrice() <= 1300.0));
+    }
+
+    @Test
+    public void findAllFilteredShouldReturnFacetsIgnoringCategoryFilter() {
+        ProductFilterDTO filter = new ProductFilterDTO(List.of(2L), null, null, null, null);
+        Page<ProductDTO> page = productService.findAllFiltered(filter, true, PageRequest.of(0, 10));
+
+        Assertions.assertEquals(2L, page.getTotalElements());
+        List<CategoryFacetDTO> facets = ((FacetedPageDTO<ProductDTO>) page).getFacets();
+        Assertions.assertEquals(3, facets.size());
+        Assertions.assertEquals(26L, facets.stream().mapToLong(CategoryFacetDTO::getCount).sum());
+    }
+
+    @Test
+    public void findAllFilteredShouldThrowInvalidRequestWhenRangeIsInverted() {
+        ProductFilterDTO filter = new ProductFilterDTO(null, 500.0, 100.0, null, null);
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> productService.findAllFiltered(filter, false, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    public void updateShouldIncrementVersionWhenExpectedVersionMatches() {
+        ProductDTO dto = productService.findById(exisitingId);
+        Integer version = dto.getVersion();
+        dto.setPrice(99.9);
+
+        ProductDTO updated = productService.update(exisitingId, dto, version);
+
+        Assertions.assertEquals(version + 1, updated.getVersion());
+    }
+
+    @Test
+    public void updateShouldThrowVersionConflictWhenExpectedVersionIsStale() {
+        ProductDTO dto = productService.findById(exisitingId);
+        Integer stale = dto.getVersion() - 1;
+
+        Assertions.assertThrows(VersionConflictException.class, () -> productService.update(exisitingId, dto, stale));
+    }
+
+    @Test
+    public void deleteAllShouldDeleteExistingIdsAndSkipUnknownOnes() {
+        BulkDeleteResultDTO result = productService.deleteAll(List.of(1L, 2L, 3L, nonExistingId));
+
+        Assertions.assertEquals(4, result.getRequested());
+        Assertions.assertEquals(3L, result.getDeleted());
+        Assertions.assertEquals(countTotalProducts - 3, productRepository.count());
+    }
 }
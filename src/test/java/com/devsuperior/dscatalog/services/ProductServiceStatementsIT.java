@@ -0,0 +1,66 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ProductServiceStatementsIT {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void findAllPagedShouldRunSameNumberOfStatementsRegardlessOfPageSize() {
+        long smallPage = statementsFor(() -> productService.findAllPaged(PageRequest.of(0, 5)));
+        long largePage = statementsFor(() -> productService.findAllPaged(PageRequest.of(0, 20)));
+
+        Assertions.assertEquals(smallPage, largePage);
+        Assertions.assertEquals(3L, largePage);
+    }
+
+    @Test
+    public void findAllPagedShouldReturnCategoriesOfEveryProduct() {
+        Page<ProductDTO> page = productService.findAllPaged(PageRequest.of(0, 20));
+        Assertions.assertTrue(page.getContent().stream().noneMatch(p -> p.getCategories().isEmpty()));
+    }
+
+    @Test
+    public void findAllByCursorShouldRunSameNumberOfStatementsRegardlessOfPageSize() {
+        long smallPage = statementsFor(() -> productService.findAllByCursor(null, 5));
+        long largePage = statementsFor(() -> productService.findAllByCursor(null, 20));
+
+        Assertions.assertEquals(smallPage, largePage);
+        Assertions.assertEquals(2L, largePage);
+    }
+
+    @Test
+    public void findByIdShouldLoadProductAndCategoriesInOneStatement() {
+        long statements = statementsFor(() -> productService.findById(2L));
+        Assertions.assertEquals(1L, statements);
+    }
+
+    private long statementsFor(Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -17,6 +17,7 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -38,6 +39,12 @@ public class ProductServiceTests {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CategoryProductCountService categoryProductCountService;
+
     private long existingId;
     private long nonExistingId;
     private long dependentId;
@@ -50,28 +57,27 @@ public class ProductServiceTests {
         nonExistingId = 0L;
         dependentId = 2L;
         product = Factory.createProduct();
-        PageImpl<Product> page = new PageImpl<>(List.of(product));
+        PageImpl<ProductDTO> page = new PageImpl<>(List.of(new ProductDTO(product)));
         Category category = Factory.createCategory();
 
 
         Mockito.when(categoryRepository.getReferenceById(categoryExistingId)).thenReturn(category);
 
-        Mockito.when(productRepository.findAll((Pageable) ArgumentMatchers.any())).thenReturn(page);
+        Mockito.when(productRepository.findAllSummaries(ArgumentMatchers.any())).thenReturn(page);
 
         Mockito.when(productRepository.save(ArgumentMatchers.any())).thenReturn(product);
+        Mockito.when(productRepository.saveAndFlush(ArgumentMatchers.any())).thenReturn(product);
 
-        Mockito.when(productRepository.findById(existingId)).thenReturn(Optional.of(product));
-        Mockito.when(productRepository.findById(nonExistingId)).thenReturn(Optional.empty());
+        Mockito.when(productRepository.findWithCategoriesById(existingId)).thenReturn(Optional.of(product));
+        Mockito.when(productRepository.findWithCategoriesById(nonExistingId)).thenReturn(Optional.empty());
 
         Mockito.when(productRepository.getReferenceById(existingId)).thenReturn(product);
         Mockito.when(productRepository.getReferenceById(nonExistingId)).thenThrow(EntityNotFoundException.class);
 
 
-        Mockito.doNothing().when(productRepository).deleteById(existingId);
-        Mockito.when(productRepository.existsById(nonExistingId)).thenReturn(false);
-        Mockito.when(productRepository.existsById(existingId)).thenReturn(true);
-        Mockito.when(productRepository.existsById(dependentId)).thenReturn(true);
-        Mockito.doThrow(new DataIntegrityViolationException("")).when(productRepository).deleteById(dependentId);
+        Mockito.when(productRepository.deleteByIdReturningCount(existingId)).thenReturn(1);
+        Mockito.when(productRepository.deleteByIdReturningCount(nonExistingId)).thenReturn(0);
+        Mockito.when(productRepository.deleteByIdReturningCount(dependentId)).thenThrow(new DataIntegrityViolationException(""));
 
     }
 
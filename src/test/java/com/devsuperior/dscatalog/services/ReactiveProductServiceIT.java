@@ -0,0 +1,70 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+@SpringBootTest
+public class ReactiveProductServiceIT {
+
+    @Autowired
+    private ReactiveProductService reactiveProductService;
+
+    private Long existingId;
+    private Long nonExistingId;
+    private Long countTotalProducts;
+
+    @BeforeEach
+    public void setUp() {
+        existingId = 1L;
+        nonExistingId = 1000L;
+        countTotalProducts = 25L;
+    }
+
+    @Test
+    public void findAllShouldStreamEveryProductWithCategories() {
+        List<ProductDTO> all = reactiveProductService.findAll().collectList().block();
+
+        Assertions.assertEquals(countTotalProducts, all.size());
+        Assertions.assertTrue(all.stream().noneMatch(p -> p.getCategories().isEmpty()));
+    }
+
+    @Test
+    public void findPageShouldReturnRequestedSlice() {
+        List<ProductDTO> page = reactiveProductService.findPage(1, 10).collectList().block();
+
+        Assertions.assertEquals(10, page.size());
+        Assertions.assertEquals(11L, page.get(0).getId());
+    }
+
+    @Test
+    public void findPageShouldThrowInvalidRequestWhenPageIsNegative() {
+        Assertions.assertThrows(InvalidRequestException.class, () -> reactiveProductService.findPage(-1, 10));
+    }
+
+    @Test
+    public void findPageShouldThrowInvalidRequestWhenSizeIsOutOfRange() {
+        Assertions.assertThrows(InvalidRequestException.class, () -> reactiveProductService.findPage(0, 0));
+        Assertions.assertThrows(InvalidRequestException.class, () -> reactiveProductService.findPage(0, 1001));
+    }
+
+    @Test
+    public void findByIdShouldReturnProductWhenIdExists() {
+        ProductDTO dto = reactiveProductService.findById(existingId).block();
+
+        Assertions.assertEquals("The Lord of the Rings", dto.getName());
+        Assertions.assertFalse(dto.getCategories().isEmpty());
+    }
+
+    @Test
+    public void findByIdShouldThrowResourceNotFoundWhenIdDoesNotExist() {
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> reactiveProductService.findById(nonExistingId).block());
+    }
+}